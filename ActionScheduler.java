@@ -0,0 +1,132 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * Min-heap of timed actions keyed by simulation tick.
+ * Only entries that are due get woken, so per-tick work scales with
+ * the number of actions rather than the number of entities.
+ */
+public class ActionScheduler {
+    private static final int INITIAL_CAPACITY = 64;
+    
+    // Heap storage (parallel arrays, ordered by time then insertion order)
+    private long[] times;
+    private long[] sequence;
+    private Object[] targets;
+    private int size;
+    private long nextSequence;
+    
+    public ActionScheduler() {
+        times = new long[INITIAL_CAPACITY];
+        sequence = new long[INITIAL_CAPACITY];
+        targets = new Object[INITIAL_CAPACITY];
+        size = 0;
+        nextSequence = 0;
+    }
+    
+    /**
+     * Schedules target to be woken at the given tick.
+     */
+    public void schedule(long time, Object target) {
+        if (size == times.length) {
+            grow();
+        }
+        
+        int index = size++;
+        times[index] = time;
+        sequence[index] = nextSequence++;
+        targets[index] = target;
+        siftUp(index);
+    }
+    
+    /**
+     * Removes and returns the earliest target due at or before now.
+     * @return Due target or null if nothing is due
+     */
+    public Object pollDue(long now) {
+        if (size == 0 || times[0] > now) {
+            return null;
+        }
+        
+        Object target = targets[0];
+        size--;
+        
+        if (size > 0) {
+            move(size, 0);
+            siftDown(0);
+        }
+        targets[size] = null;
+        
+        return target;
+    }
+    
+    /**
+     * Removes all scheduled entries.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            targets[i] = null;
+        }
+        size = 0;
+    }
+    
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(index, parent)) break;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+    
+    private void siftDown(int index) {
+        while (true) {
+            int left = index * 2 + 1;
+            if (left >= size) break;
+            
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && before(right, left)) {
+                smallest = right;
+            }
+            if (!before(smallest, index)) break;
+            
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+    
+    private boolean before(int a, int b) {
+        if (times[a] != times[b]) return times[a] < times[b];
+        return sequence[a] < sequence[b];
+    }
+    
+    private void swap(int a, int b) {
+        long time = times[a];
+        long seq = sequence[a];
+        Object target = targets[a];
+        move(b, a);
+        times[b] = time;
+        sequence[b] = seq;
+        targets[b] = target;
+    }
+    
+    private void move(int from, int to) {
+        times[to] = times[from];
+        sequence[to] = sequence[from];
+        targets[to] = targets[from];
+    }
+    
+    private void grow() {
+        int capacity = times.length * 2;
+        times = Arrays.copyOf(times, capacity);
+        sequence = Arrays.copyOf(sequence, capacity);
+        targets = Arrays.copyOf(targets, capacity);
+    }
+    
+    // Getters
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public long peekTime() { return size > 0 ? times[0] : Long.MAX_VALUE; }
+}
@@ -0,0 +1,66 @@
+package application;
+
+/**
+ * Viewport into the world that follows a target.
+ * The target may move freely inside a dead zone around the view center;
+ * beyond it the camera eases toward the target at CAMERA_LERP_SPEED.
+ * The view is clamped to the world, and centered when the world is smaller.
+ */
+public class Camera {
+    private final double viewWidth;
+    private final double viewHeight;
+    private final double worldWidth;
+    private final double worldHeight;
+    
+    // Top-left corner of the view in world pixels
+    private double x;
+    private double y;
+    
+    public Camera(double viewWidth, double viewHeight, double worldWidth, double worldHeight) {
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+    
+    /**
+     * Centers the view on a point immediately.
+     */
+    public void snapTo(double targetX, double targetY) {
+        x = clamp(targetX - viewWidth / 2, viewWidth, worldWidth);
+        y = clamp(targetY - viewHeight / 2, viewHeight, worldHeight);
+    }
+    
+    /**
+     * Moves toward a point in world pixels.
+     * @param seconds Time since the last update
+     */
+    public void follow(double targetX, double targetY, double seconds) {
+        double t = Math.min(1.0, Constants.CAMERA_LERP_SPEED * seconds);
+        x = clamp(x + approach(targetX - (x + viewWidth / 2)) * t, viewWidth, worldWidth);
+        y = clamp(y + approach(targetY - (y + viewHeight / 2)) * t, viewHeight, worldHeight);
+    }
+    
+    /**
+     * Distance the view still has to cover along one axis to bring the
+     * target back inside the dead zone.
+     */
+    private static double approach(double offset) {
+        if (offset > Constants.CAMERA_DEAD_ZONE) return offset - Constants.CAMERA_DEAD_ZONE;
+        if (offset < -Constants.CAMERA_DEAD_ZONE) return offset + Constants.CAMERA_DEAD_ZONE;
+        return 0;
+    }
+    
+    private static double clamp(double position, double view, double world) {
+        if (world <= view) {
+            return (world - view) / 2; // Center a small world
+        }
+        return Math.max(0, Math.min(position, world - view));
+    }
+    
+    // View position and size in world pixels
+    public double getX() { return x; }
+    public double getY() { return y; }
+    public double getViewWidth() { return viewWidth; }
+    public double getViewHeight() { return viewHeight; }
+}
@@ -1,13 +1,19 @@
-package application;
-
-/**
- * Concrete obstacle: Campfire.
- * - Passable.
- * - Deals 1 damage when an entity moves onto it.
- */
-public class Campfire extends Obstacle {
-    public Campfire() {
-        // entityType=4 (new type for visualization), collisionDamage=0, passDamage=1, passable=true
-        super(4, 0, 1, true);
-    }
+package application;
+
+/**
+ * Concrete obstacle: Campfire.
+ * - Passable.
+ * - Deals 1 damage when an entity moves onto it.
+ * - Lights the cells around it.
+ */
+public class Campfire extends Obstacle {
+    public Campfire() {
+        // entityType=4 (new type for visualization), collisionDamage=0, passDamage=1, passable=true
+        super(4, 0, 1, true);
+    }
+    
+    @Override
+    public int getLightRadius() {
+        return Constants.CAMPFIRE_LIGHT_RADIUS;
+    }
 }
\ No newline at end of file
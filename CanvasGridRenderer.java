@@ -0,0 +1,297 @@
+package application;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.effect.ColorAdjust;
+import javafx.scene.paint.Color;
+import java.util.Arrays;
+
+/**
+ * Immediate-mode grid renderer drawing onto a single Canvas.
+ * The layout of walls, spikes and campfires is cached as one tile index per
+ * cell, and every tile comes pre-rendered from a single SpriteAtlas texture,
+ * so the cache stays small even for very large grids. Redrawing a cell blits
+ * its static tile and composites the player, enemies (with HP pips) and
+ * effects on top; only changed cells are ever redrawn.
+ *
+ * The canvas is only as large as the viewport. A Camera follows the player,
+ * and cells outside the visible window (plus a small margin) are never
+ * drawn, so render cost depends on the window size, not the map size.
+ *
+ * Cells are darkened by their light level with a translucent black overlay;
+ * sprites between cells are dimmed with a color effect instead, since an
+ * overlay would darken the cells under them twice.
+ */
+public class CanvasGridRenderer {
+    private static final Color GRID_LINE = Color.rgb(20, 50, 80);
+    
+    private final GameLogic logic;
+    private final int cellSize;
+    private final int width;
+    private final int height;
+    private final Canvas canvas;
+    private final GraphicsContext gc;
+    
+    private final SpriteAtlas atlas;
+    private int[] staticTypes;           // Static tile of each cell (obstacle type or floor)
+    private final Color[] darkness;      // Overlay per light shade
+    private final ColorAdjust[] dimming; // Sprite effect per light shade
+    
+    // Interpolated motion (null when entities snap to cells)
+    private MotionTracker motion;
+    private int[] coveredCells;          // Cells under the sprites drawn last frame
+    private int coveredCount;
+    
+    // Camera and the window of cells currently on the canvas
+    private final Camera camera;
+    private int originX, originY;        // World pixel at the canvas top-left
+    private int firstX, lastX, firstY, lastY;
+    private long lastCameraUpdate;
+    
+    /**
+     * Creates renderer for the logic's grid.
+     */
+    public CanvasGridRenderer(GameLogic logic, int cellSize) {
+        this.logic = logic;
+        this.cellSize = cellSize;
+        this.width = GameLogic.GRID_WIDTH;
+        this.height = GameLogic.GRID_HEIGHT;
+        int worldWidth = width * cellSize;
+        int worldHeight = height * cellSize;
+        int viewWidth = Math.min(worldWidth, Constants.VIEWPORT_WIDTH);
+        int viewHeight = Math.min(worldHeight, Constants.VIEWPORT_HEIGHT);
+        this.canvas = new Canvas(viewWidth, viewHeight);
+        this.gc = canvas.getGraphicsContext2D();
+        gc.setImageSmoothing(false);
+        gc.setStroke(GRID_LINE);
+        gc.setLineWidth(0.5);
+        this.atlas = new SpriteAtlas(cellSize);
+        
+        int shades = Constants.LIGHT_SHADES;
+        this.darkness = new Color[shades];
+        this.dimming = new ColorAdjust[shades];
+        for (int i = 0; i < shades; i++) {
+            double light = i / (shades - 1.0);
+            darkness[i] = Color.rgb(0, 0, 0, 1 - light);
+            dimming[i] = new ColorAdjust(0, 0, light - 1, 0);
+        }
+        
+        this.camera = new Camera(viewWidth, viewHeight, worldWidth, worldHeight);
+        Player player = logic.getPlayer();
+        camera.snapTo((player.getX() + 0.5) * cellSize, (player.getY() + 0.5) * cellSize);
+        setOrigin((int) Math.round(camera.getX()), (int) Math.round(camera.getY()));
+        
+        rebuildStaticLayer();
+    }
+    
+    /**
+     * Moves the camera toward the player. If the view scrolled, the whole
+     * visible window is redrawn.
+     * @param now Frame time in nanoseconds
+     * @return True if the canvas was fully redrawn
+     */
+    public boolean updateCamera(long now) {
+        double seconds = lastCameraUpdate == 0 ? 0 : (now - lastCameraUpdate) / 1e9;
+        lastCameraUpdate = now;
+        
+        double targetX, targetY;
+        if (motion != null) {
+            targetX = motion.getPlayerX();
+            targetY = motion.getPlayerY();
+        } else {
+            targetX = logic.getPlayer().getX();
+            targetY = logic.getPlayer().getY();
+        }
+        camera.follow((targetX + 0.5) * cellSize, (targetY + 0.5) * cellSize, seconds);
+        
+        int newX = (int) Math.round(camera.getX());
+        int newY = (int) Math.round(camera.getY());
+        if (newX == originX && newY == originY) {
+            return false;
+        }
+        setOrigin(newX, newY);
+        drawAll();
+        return true;
+    }
+    
+    private void setOrigin(int x, int y) {
+        originX = x;
+        originY = y;
+        int margin = Constants.CAMERA_MARGIN_CELLS;
+        firstX = Math.max(0, Math.floorDiv(x, cellSize) - margin);
+        firstY = Math.max(0, Math.floorDiv(y, cellSize) - margin);
+        lastX = Math.min(width - 1, Math.floorDiv(x + (int) canvas.getWidth() - 1, cellSize) + margin);
+        lastY = Math.min(height - 1, Math.floorDiv(y + (int) canvas.getHeight() - 1, cellSize) + margin);
+    }
+    
+    /**
+     * Checks if a cell is inside the drawn window.
+     */
+    public boolean isVisible(int x, int y) {
+        return x >= firstX && x <= lastX && y >= firstY && y <= lastY;
+    }
+    
+    /**
+     * Re-reads the static layout from the obstacle grid.
+     */
+    public void rebuildStaticLayer() {
+        if (staticTypes == null) {
+            staticTypes = new int[width * height];
+        }
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                refreshStaticCell(x, y);
+            }
+        }
+    }
+    
+    /**
+     * Re-reads one cell's static tile, for an obstacle placed, removed or
+     * undone there. Does not draw.
+     */
+    public void refreshStaticCell(int x, int y) {
+        Obstacle obstacle = logic.getObstacleAt(x, y);
+        staticTypes[x * height + y] = obstacle != null ? obstacle.getEntityType() : SpriteAtlas.TILE_FLOOR;
+    }
+    
+    /**
+     * Redraws every visible cell.
+     */
+    public void drawAll() {
+        for (int x = firstX; x <= lastX; x++) {
+            for (int y = firstY; y <= lastY; y++) {
+                drawCell(x, y);
+            }
+        }
+    }
+    
+    /**
+     * Redraws one cell from the current state: background, then whatever
+     * occupies it.
+     */
+    public void drawCell(int x, int y) {
+        if (!isVisible(x, y)) return;
+        
+        double px = x * cellSize - originX;
+        double py = y * cellSize - originY;
+        int staticTile = staticTypes[x * height + y];
+        atlas.drawTile(gc, staticTile, px, py, cellSize);
+        
+        // Entities between cells are left to drawMovingSprites
+        Player player = logic.getPlayer();
+        if (player.getX() == x && player.getY() == y) {
+            if (motion == null || !motion.isPlayerMoving()) {
+                atlas.drawTile(gc, SpriteAtlas.TILE_PLAYER, px, py, cellSize);
+            }
+        } else {
+            Enemy enemy = logic.findEnemyAt(x, y);
+            if (enemy != null) {
+                // Enemies out of sight leave just the static tile
+                if (logic.isCellVisible(x, y) && (motion == null || !motion.isEnemyMoving(enemy))) {
+                    atlas.drawEnemy(gc, enemy, px, py, cellSize);
+                }
+            } else {
+                int type = logic.getEntityAt(x, y);
+                if (type != staticTile) {
+                    atlas.drawTile(gc, type, px, py, cellSize);
+                }
+            }
+        }
+        
+        int shade = logic.getShadeAt(x, y);
+        if (shade < darkness.length - 1) {
+            gc.setFill(darkness[shade]);
+            gc.fillRect(px, py, cellSize, cellSize);
+        }
+        gc.strokeRect(px + 0.25, py + 0.25, cellSize - 0.5, cellSize - 0.5);
+    }
+    
+    /**
+     * Enables interpolated drawing of moving entities.
+     */
+    public void setMotionTracker(MotionTracker motion) {
+        this.motion = motion;
+        this.coveredCells = new int[64];
+        this.coveredCount = 0;
+    }
+    
+    /**
+     * Draws entities that are between cells at their interpolated positions
+     * and remembers the cells they cover. Those cells must be redrawn next
+     * frame (getCoveredCell) before sprites are drawn again.
+     */
+    public void drawMovingSprites() {
+        coveredCount = 0;
+        if (motion == null) return;
+        
+        for (int i = 0; i < motion.getEnemyCount(); i++) {
+            if (!motion.isEnemyMoving(i)) continue;
+            Enemy enemy = motion.getEnemy(i);
+            if (!isVisible(enemy.getX(), enemy.getY()) || !logic.isCellVisible(enemy.getX(), enemy.getY())) continue;
+            double ex = motion.getEnemyX(i);
+            double ey = motion.getEnemyY(i);
+            coverSprite(enemy.getX(), enemy.getY(), ex, ey);
+            dimTo(enemy.getX(), enemy.getY());
+            atlas.drawEnemy(gc, enemy, ex * cellSize - originX, ey * cellSize - originY, cellSize);
+        }
+        
+        if (motion.isPlayerMoving()) {
+            Player player = logic.getPlayer();
+            double sx = motion.getPlayerX();
+            double sy = motion.getPlayerY();
+            coverSprite(player.getX(), player.getY(), sx, sy);
+            dimTo(player.getX(), player.getY());
+            atlas.drawTile(gc, SpriteAtlas.TILE_PLAYER, sx * cellSize - originX, sy * cellSize - originY, cellSize);
+        }
+        gc.setEffect(null);
+    }
+    
+    /**
+     * Dims the next sprites to the light of the cell they are moving to.
+     */
+    private void dimTo(int x, int y) {
+        int shade = logic.getShadeAt(x, y);
+        gc.setEffect(shade < dimming.length - 1 ? dimming[shade] : null);
+    }
+    
+    /**
+     * Records the cells under a sprite, including its destination so the
+     * entity is drawn there once it stops.
+     */
+    private void coverSprite(int cellX, int cellY, double x, double y) {
+        if (coveredCount + 5 > coveredCells.length) {
+            coveredCells = Arrays.copyOf(coveredCells, coveredCells.length * 2);
+        }
+        coveredCells[coveredCount++] = cellX * height + cellY;
+        int left = (int) Math.floor(x);
+        int top = (int) Math.floor(y);
+        for (int cx = left; cx <= Math.min(left + 1, width - 1); cx++) {
+            for (int cy = top; cy <= Math.min(top + 1, height - 1); cy++) {
+                if (cx >= 0 && cy >= 0) {
+                    coveredCells[coveredCount++] = cx * height + cy;
+                }
+            }
+        }
+    }
+    
+    // Cells covered by last frame's sprites, as x * height + y
+    public int getCoveredCellCount() { return coveredCount; }
+    public int getCoveredCell(int i) { return coveredCells[i]; }
+    
+    /**
+     * Paints an effect over a cell until it is next redrawn.
+     */
+    public void fillCell(int x, int y, Color color) {
+        if (!isVisible(x, y)) return;
+        
+        double px = x * cellSize - originX;
+        double py = y * cellSize - originY;
+        gc.setFill(color);
+        gc.fillRect(px, py, cellSize, cellSize);
+        gc.strokeRect(px + 0.25, py + 0.25, cellSize - 0.5, cellSize - 0.5);
+    }
+    
+    public Canvas getCanvas() {
+        return canvas;
+    }
+}
@@ -1,148 +1,193 @@
-package application;
-
-/**
- * Contains all constant values used throughout the game.
- */
-public class Constants {
-    
-    // ==================== WINDOW SETTINGS ====================
-    public static final int WINDOW_WIDTH = 1280;
-    public static final int WINDOW_HEIGHT = 720;
-    public static final String GAME_TITLE = "Push Knight Peril";
-    public static final int TARGET_FPS = 60;
-    
-    // ==================== PLAYER CONSTANTS ====================
-    public static final double PLAYER_SPEED = 200.0;              // pixels per second
-    public static final int PLAYER_MAX_HEALTH = 3;                // hearts
-    public static final double PLAYER_HITBOX_RADIUS = 20.0;       // pixels
-    public static final double PLAYER_PUSH_RANGE = 80.0;          // pixels
-    public static final double PLAYER_PUSH_KNOCKBACK = 300.0;     // force
-    public static final double PLAYER_PUSH_COOLDOWN = 1.0;        // seconds
-    public static final double PLAYER_INVULNERABILITY_TIME = 1.5; // seconds
-    
-    // ==================== CAMERA CONSTANTS ====================
-    public static final double CAMERA_LERP_SPEED = 5.0;           // smoothing factor
-    public static final double CAMERA_DEAD_ZONE = 50.0;           // pixels
-    
-    // ==================== ENEMY CONSTANTS ====================
-    
-    // Goblin
-    public static final double GOBLIN_SPEED = 120.0;
-    public static final int GOBLIN_MAX_HEALTH = 2;
-    public static final int GOBLIN_DAMAGE = 1;
-    public static final double GOBLIN_DETECTION_RANGE = 400.0;
-    public static final double GOBLIN_ATTACK_RANGE = 30.0;
-    public static final double GOBLIN_HITBOX_RADIUS = 15.0;
-    
-    // Skeleton
-    public static final double SKELETON_SPEED = 90.0;
-    public static final int SKELETON_MAX_HEALTH = 3;
-    public static final int SKELETON_DAMAGE = 1;
-    public static final double SKELETON_DETECTION_RANGE = 450.0;
-    public static final double SKELETON_ATTACK_RANGE = 35.0;
-    public static final double SKELETON_HITBOX_RADIUS = 18.0;
-    
-    // Boomer Goblin
-    public static final double BOOMER_SPEED = 140.0;
-    public static final int BOOMER_MAX_HEALTH = 1;
-    public static final int BOOMER_DAMAGE = 2;                    // explosion damage
-    public static final double BOOMER_DETECTION_RANGE = 500.0;
-    public static final double BOOMER_TRIGGER_RANGE = 60.0;
-    public static final double BOOMER_EXPLOSION_RADIUS = 100.0;
-    public static final double BOOMER_FUSE_TIME = 1.5;
-    public static final double BOOMER_HITBOX_RADIUS = 16.0;
-    
-    // Skeleton Brute
-    public static final double BRUTE_SPEED = 60.0;
-    public static final int BRUTE_MAX_HEALTH = 6;
-    public static final int BRUTE_DAMAGE = 2;
-    public static final double BRUTE_DETECTION_RANGE = 400.0;
-    public static final double BRUTE_ATTACK_RANGE = 40.0;
-    public static final double BRUTE_CHARGE_SPEED = 250.0;
-    public static final double BRUTE_CHARGE_DURATION = 0.8;
-    public static final double BRUTE_HITBOX_RADIUS = 25.0;
-    public static final double BRUTE_KNOCKBACK_RESISTANCE = 0.5;  // 50% resistance
-    
-    // ==================== PATHFINDING CONSTANTS ====================
-    public static final int PATHFINDING_GRID_SIZE = 20;           // pixels per cell
-    public static final int PATHFINDING_MAX_ITERATIONS = 1000;
-    public static final double PATH_UPDATE_INTERVAL = 0.5;        // seconds
-    
-    // ==================== WORLD CONSTANTS ====================
-    public static final int WORLD_WIDTH = 3200;                   // pixels
-    public static final int WORLD_HEIGHT = 3200;                  // pixels
-    
-    // ==================== OBSTACLE CONSTANTS ====================
-    public static final int OBSTACLE_COLLISION_DAMAGE = 1;
-    
-    // ==================== TRAP CONSTANTS ====================
-    public static final double TRAP_RADIUS = 30.0;                // pixels
-    public static final int TRAP_DAMAGE = 1;
-    public static final double TRAP_REARM_TIME = 3.0;             // seconds
-    
-    // ==================== POWERUP CONSTANTS ====================
-    public static final double POWERUP_RADIUS = 20.0;             // pixels
-    public static final double POWERUP_SPAWN_CHANCE = 0.15;       // 15% per enemy
-    public static final double SPEED_BOOST_MULTIPLIER = 1.2;      // 20% increase
-    public static final double PUSH_RANGE_MULTIPLIER = 1.3;       // 30% increase
-    public static final double PUSH_POWER_MULTIPLIER = 1.3;       // 30% increase
-    
-    // ==================== SPAWN SYSTEM CONSTANTS ====================
-    public static final double INITIAL_SPAWN_INTERVAL = 2.0;      // seconds
-    public static final double MIN_SPAWN_INTERVAL = 0.5;          // seconds
-    public static final int INITIAL_ENEMIES_PER_WAVE = 5;
-    public static final double WAVE_SCALING_FACTOR = 2.5;         // enemies increase per wave
-    
-    // Wave 1-2: Basic enemies
-    public static final double WAVE1_GOBLIN_RATE = 0.6;
-    public static final double WAVE1_SKELETON_RATE = 0.3;
-    public static final double WAVE1_BOOMER_RATE = 0.1;
-    public static final double WAVE1_BRUTE_RATE = 0.0;
-    
-    // Wave 3-4: Brutes introduced
-    public static final double WAVE3_GOBLIN_RATE = 0.4;
-    public static final double WAVE3_SKELETON_RATE = 0.35;
-    public static final double WAVE3_BOOMER_RATE = 0.15;
-    public static final double WAVE3_BRUTE_RATE = 0.1;
-    
-    // Wave 5-9: Balanced composition
-    public static final double WAVE5_GOBLIN_RATE = 0.3;
-    public static final double WAVE5_SKELETON_RATE = 0.3;
-    public static final double WAVE5_BOOMER_RATE = 0.2;
-    public static final double WAVE5_BRUTE_RATE = 0.2;
-    
-    // Wave 10+: Late game
-    public static final double WAVE10_GOBLIN_RATE = 0.2;
-    public static final double WAVE10_SKELETON_RATE = 0.25;
-    public static final double WAVE10_BOOMER_RATE = 0.25;
-    public static final double WAVE10_BRUTE_RATE = 0.3;
-    
-    // ==================== ANIMATION CONSTANTS ====================
-    public static final double HURT_ANIMATION_DURATION = 0.3;     // seconds
-    public static final double PUSH_ANIMATION_DURATION = 0.4;     // seconds
-    public static final double ATTACK_ANIMATION_DURATION = 0.5;   // seconds
-    public static final int INVULNERABILITY_FLICKER_RATE = 10;    // times per second
-    
-    // ==================== PHYSICS CONSTANTS ====================
-    public static final double KNOCKBACK_DECAY = 0.9;             // per frame
-    public static final double MIN_KNOCKBACK_VELOCITY = 10.0;     // pixels per second
-    
-    // ==================== UI CONSTANTS ====================
-    public static final double HEALTH_HEART_SIZE = 30.0;          // pixels
-    public static final double HEALTH_HEART_SPACING = 35.0;       // pixels
-    public static final double HEALTH_UI_X = 20.0;                // screen position
-    public static final double HEALTH_UI_Y = 20.0;                // screen position
-    public static final double HEALTHBAR_WIDTH = 40.0;            // pixels
-    public static final double HEALTHBAR_HEIGHT = 5.0;            // pixels
-    public static final double HEALTHBAR_OFFSET_Y = 10.0;         // pixels above enemy
-    
-    // ==================== DEBUG CONSTANTS ====================
-    public static final boolean DEBUG_MODE = false;
-    public static final boolean SHOW_HITBOXES = false;
-    public static final boolean SHOW_PATHFINDING = false;
-    
-    // Private constructor to prevent instantiation
-    private Constants() {
-        throw new AssertionError("Cannot instantiate Constants class");
-    }
+package application;
+
+/**
+ * Contains all constant values used throughout the game.
+ */
+public class Constants {
+    
+    // ==================== WINDOW SETTINGS ====================
+    public static final int WINDOW_WIDTH = 1280;
+    public static final int WINDOW_HEIGHT = 720;
+    public static final String GAME_TITLE = "Push Knight Peril";
+    public static final int TARGET_FPS = 60;
+    
+    // ==================== SIMULATION TIMING ====================
+    // All simulation timers count whole ticks; seconds only appear at the UI boundary.
+    public static final int TICKS_PER_SECOND = 20;
+    public static final int TICK_MILLIS = 1000 / TICKS_PER_SECOND;
+    public static final int MAX_TICKS_PER_UPDATE = 5;             // catch-up cap after a stall
+    
+    /**
+     * Converts a duration in seconds to whole ticks at TICKS_PER_SECOND,
+     * so intervals keep their real-time length if the tick rate changes.
+     */
+    public static int secondsToTicks(double seconds) {
+        return (int) Math.round(seconds * TICKS_PER_SECOND);
+    }
+    
+    // ==================== PLAYER CONSTANTS ====================
+    public static final double PLAYER_SPEED = 200.0;              // pixels per second
+    public static final int PLAYER_MAX_HEALTH = 3;                // hearts
+    public static final double PLAYER_HITBOX_RADIUS = 20.0;       // pixels
+    public static final double PLAYER_PUSH_RANGE = 80.0;          // pixels
+    public static final double PLAYER_PUSH_KNOCKBACK = 300.0;     // force
+    public static final double PLAYER_PUSH_COOLDOWN = 1.0;        // seconds
+    public static final double PLAYER_INVULNERABILITY_TIME = 1.5; // seconds
+    public static final int PLAYER_REWIND_SECONDS = 3;            // history kept for the rewind ability
+    
+    // ==================== CAMERA CONSTANTS ====================
+    public static final double CAMERA_LERP_SPEED = 5.0;           // smoothing factor
+    public static final double CAMERA_DEAD_ZONE = 50.0;           // pixels
+    public static final int VIEWPORT_WIDTH = 800;                 // pixels of grid shown by the canvas renderer
+    public static final int VIEWPORT_HEIGHT = 560;                // pixels
+    public static final int CAMERA_MARGIN_CELLS = 1;              // cells drawn beyond the view edge
+    
+    // ==================== ENEMY CONSTANTS ====================
+    
+    // Goblin
+    public static final double GOBLIN_SPEED = 120.0;
+    public static final int GOBLIN_MAX_HEALTH = 2;
+    public static final int GOBLIN_DAMAGE = 1;
+    public static final double GOBLIN_DETECTION_RANGE = 400.0;
+    public static final double GOBLIN_ATTACK_RANGE = 30.0;
+    public static final double GOBLIN_HITBOX_RADIUS = 15.0;
+    
+    // Skeleton
+    public static final double SKELETON_SPEED = 90.0;
+    public static final int SKELETON_MAX_HEALTH = 3;
+    public static final int SKELETON_DAMAGE = 1;
+    public static final double SKELETON_DETECTION_RANGE = 450.0;
+    public static final double SKELETON_ATTACK_RANGE = 35.0;
+    public static final double SKELETON_HITBOX_RADIUS = 18.0;
+    
+    // Boomer Goblin
+    public static final double BOOMER_SPEED = 140.0;
+    public static final int BOOMER_MAX_HEALTH = 1;
+    public static final int BOOMER_DAMAGE = 2;                    // explosion damage
+    public static final double BOOMER_DETECTION_RANGE = 500.0;
+    public static final double BOOMER_TRIGGER_RANGE = 60.0;
+    public static final double BOOMER_EXPLOSION_RADIUS = 100.0;
+    public static final double BOOMER_FUSE_TIME = 1.5;
+    public static final double BOOMER_HITBOX_RADIUS = 16.0;
+    
+    // Skeleton Brute
+    public static final double BRUTE_SPEED = 60.0;
+    public static final int BRUTE_MAX_HEALTH = 6;
+    public static final int BRUTE_DAMAGE = 2;
+    public static final double BRUTE_DETECTION_RANGE = 400.0;
+    public static final double BRUTE_ATTACK_RANGE = 40.0;
+    public static final double BRUTE_CHARGE_SPEED = 250.0;
+    public static final double BRUTE_CHARGE_DURATION = 0.8;
+    public static final double BRUTE_HITBOX_RADIUS = 25.0;
+    public static final double BRUTE_KNOCKBACK_RESISTANCE = 0.5;  // 50% resistance
+    
+    // ==================== PATHFINDING CONSTANTS ====================
+    public static final int PATHFINDING_GRID_SIZE = 20;           // pixels per cell
+    public static final int PATHFINDING_MAX_ITERATIONS = 1000;
+    public static final double PATH_UPDATE_INTERVAL = 0.5;        // seconds
+    public static final int PARALLEL_AI_THRESHOLD = 32;           // due enemies before AI decisions fork
+    public static final int FAR_ENEMY_DISTANCE = 8;               // cells; replans deferred when degraded
+    
+    // ==================== PERFORMANCE CONSTANTS ====================
+    public static final double TICK_BUDGET_MS = 4.0;              // watchdog budget per tick
+    public static final int REWIND_RECORD_CAPACITY = 16384;       // change records held for rewind
+    public static final int METRICS_HTTP_PORT = 0;                // localhost Prometheus endpoint; 0 = off
+    
+    // ==================== WORLD CONSTANTS ====================
+    public static final int WORLD_WIDTH = 3200;                   // pixels
+    public static final int WORLD_HEIGHT = 3200;                  // pixels
+    
+    // ==================== OBSTACLE CONSTANTS ====================
+    public static final int OBSTACLE_COLLISION_DAMAGE = 1;
+    
+    // ==================== LIGHTING CONSTANTS ====================
+    public static final double AMBIENT_LIGHT = 0.5;               // 0 = pitch dark, 1 = no lighting (below 1 implies DIRTY_CELL_SYNC)
+    public static final int CAMPFIRE_LIGHT_RADIUS = 4;            // cells
+    public static final int LIGHT_SHADES = 16;                    // brightness steps drawn by the renderers
+    
+    // ==================== FOG OF WAR CONSTANTS ====================
+    public static final boolean FOG_OF_WAR = false;               // only show cells in the player's line of sight (implies DIRTY_CELL_SYNC)
+    public static final int FOG_VIEW_RADIUS = 8;                  // cells
+    public static final int FOG_SHADE = 4;                        // brightness step of cells out of sight
+    
+    // ==================== TRAP CONSTANTS ====================
+    public static final double TRAP_RADIUS = 30.0;                // pixels
+    public static final int TRAP_DAMAGE = 1;
+    public static final double TRAP_REARM_TIME = 3.0;             // seconds
+    
+    // ==================== POWERUP CONSTANTS ====================
+    public static final double POWERUP_RADIUS = 20.0;             // pixels
+    public static final double POWERUP_SPAWN_CHANCE = 0.15;       // 15% per enemy
+    public static final double SPEED_BOOST_MULTIPLIER = 1.2;      // 20% increase
+    public static final double PUSH_RANGE_MULTIPLIER = 1.3;       // 30% increase
+    public static final double PUSH_POWER_MULTIPLIER = 1.3;       // 30% increase
+    
+    // ==================== SPAWN SYSTEM CONSTANTS ====================
+    public static final double INITIAL_SPAWN_INTERVAL = 2.0;      // seconds
+    public static final double MIN_SPAWN_INTERVAL = 0.5;          // seconds
+    public static final int INITIAL_ENEMIES_PER_WAVE = 5;
+    public static final double WAVE_SCALING_FACTOR = 2.5;         // enemies increase per wave
+    
+    // Wave 1-2: Basic enemies
+    public static final double WAVE1_GOBLIN_RATE = 0.6;
+    public static final double WAVE1_SKELETON_RATE = 0.3;
+    public static final double WAVE1_BOOMER_RATE = 0.1;
+    public static final double WAVE1_BRUTE_RATE = 0.0;
+    
+    // Wave 3-4: Brutes introduced
+    public static final double WAVE3_GOBLIN_RATE = 0.4;
+    public static final double WAVE3_SKELETON_RATE = 0.35;
+    public static final double WAVE3_BOOMER_RATE = 0.15;
+    public static final double WAVE3_BRUTE_RATE = 0.1;
+    
+    // Wave 5-9: Balanced composition
+    public static final double WAVE5_GOBLIN_RATE = 0.3;
+    public static final double WAVE5_SKELETON_RATE = 0.3;
+    public static final double WAVE5_BOOMER_RATE = 0.2;
+    public static final double WAVE5_BRUTE_RATE = 0.2;
+    
+    // Wave 10+: Late game
+    public static final double WAVE10_GOBLIN_RATE = 0.2;
+    public static final double WAVE10_SKELETON_RATE = 0.25;
+    public static final double WAVE10_BOOMER_RATE = 0.25;
+    public static final double WAVE10_BRUTE_RATE = 0.3;
+    
+    // ==================== ANIMATION CONSTANTS ====================
+    public static final double HURT_ANIMATION_DURATION = 0.3;     // seconds
+    public static final double PUSH_ANIMATION_DURATION = 0.4;     // seconds
+    public static final double ATTACK_ANIMATION_DURATION = 0.5;   // seconds
+    public static final int INVULNERABILITY_FLICKER_RATE = 10;    // times per second
+    public static final double DAMAGE_FLASH_DURATION = 0.1;       // seconds
+    public static final double IMPACT_FLASH_DURATION = 0.15;      // seconds
+    public static final double PLAYER_FLASH_DURATION = 0.2;       // seconds
+    
+    // ==================== PHYSICS CONSTANTS ====================
+    public static final double KNOCKBACK_DECAY = 0.9;             // per frame
+    public static final double MIN_KNOCKBACK_VELOCITY = 10.0;     // pixels per second
+    
+    // ==================== UI CONSTANTS ====================
+    public static final double HEALTH_HEART_SIZE = 30.0;          // pixels
+    public static final double HEALTH_HEART_SPACING = 35.0;       // pixels
+    public static final double HEALTH_UI_X = 20.0;                // screen position
+    public static final double HEALTH_UI_Y = 20.0;                // screen position
+    public static final double HEALTHBAR_WIDTH = 40.0;            // pixels
+    public static final double HEALTHBAR_HEIGHT = 5.0;            // pixels
+    public static final double HEALTHBAR_OFFSET_Y = 10.0;         // pixels above enemy
+    public static final boolean DIRTY_CELL_SYNC = true;           // redraw changed cells from state each frame
+    public static final boolean CANVAS_RENDERER = true;           // draw the grid on a Canvas (implies DIRTY_CELL_SYNC)
+    public static final boolean INTERPOLATE_MOTION = true;        // slide entities between cells (canvas renderer only)
+    
+    // ==================== DEBUG CONSTANTS ====================
+    public static final boolean DEBUG_MODE = false;
+    public static final int LOG_RING_CAPACITY = 8192;             // log records buffered for the writer thread
+    public static final boolean SHOW_HITBOXES = false;
+    public static final boolean SHOW_PATHFINDING = false;
+    public static final boolean RECORD_EVENT_STREAM = false;      // write each game's events to a .pkev file
+    public static final boolean RECORD_TELEMETRY = false;         // journal combat, spawns and waves to telemetry-*/
+    public static final int TELEMETRY_SEGMENT_BYTES = 4 << 20;    // size of each journal segment file
+    
+    // Private constructor to prevent instantiation
+    private Constants() {
+        throw new AssertionError("Cannot instantiate Constants class");
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package application;
+
+import java.util.Arrays;
+import javafx.scene.paint.Color;
+
+/**
+ * Frame-driven timer for short cell effects (damage and impact flashes).
+ * Active effects live in pooled parallel arrays, at most one per cell; a new
+ * effect on a cell replaces the old one. update() runs once per frame on the
+ * FX thread and hands expired cells back to the painter for a redraw, so no
+ * threads or tasks are created per flash.
+ */
+public class EffectScheduler {
+    /**
+     * Restores a cell once its effect expires.
+     */
+    public interface CellPainter {
+        void redrawCell(int x, int y);
+    }
+    
+    private final int height;
+    private final CellPainter painter;
+    private final int[] slotOfCell;      // Cell index -> effect slot, or -1
+    
+    // Active effects
+    private int[] cells;
+    private long[] expiresAt;            // Nanoseconds, AnimationTimer clock
+    private Color[] colors;
+    private int count;
+    
+    public EffectScheduler(int width, int height, CellPainter painter) {
+        this.height = height;
+        this.painter = painter;
+        this.slotOfCell = new int[width * height];
+        Arrays.fill(slotOfCell, -1);
+        
+        cells = new int[32];
+        expiresAt = new long[32];
+        colors = new Color[32];
+    }
+    
+    /**
+     * Starts an effect on a cell. The caller paints it.
+     * @param now Current frame time in nanoseconds
+     * @param seconds Effect duration
+     */
+    public void schedule(int x, int y, Color color, long now, double seconds) {
+        int cell = x * height + y;
+        long expiry = now + (long) (seconds * 1_000_000_000L);
+        
+        int slot = slotOfCell[cell];
+        if (slot < 0) {
+            if (count == cells.length) {
+                grow();
+            }
+            slot = count++;
+            cells[slot] = cell;
+            slotOfCell[cell] = slot;
+        }
+        expiresAt[slot] = expiry;
+        colors[slot] = color;
+    }
+    
+    /**
+     * Ends expired effects and redraws their cells.
+     * @param now Current frame time in nanoseconds
+     */
+    public void update(long now) {
+        int i = 0;
+        while (i < count) {
+            if (expiresAt[i] - now > 0) {
+                i++;
+                continue;
+            }
+            int cell = cells[i];
+            removeSlot(i);
+            painter.redrawCell(cell / height, cell % height);
+        }
+    }
+    
+    /**
+     * Gets the color of the effect on a cell, or null if none is active.
+     * Used to repaint effects over cells redrawn for other reasons.
+     */
+    public Color getActiveColor(int x, int y) {
+        int slot = slotOfCell[x * height + y];
+        return slot < 0 ? null : colors[slot];
+    }
+    
+    /**
+     * Drops all effects without redrawing. Used when the game ends.
+     */
+    public void clear() {
+        for (int i = 0; i < count; i++) {
+            slotOfCell[cells[i]] = -1;
+            colors[i] = null;
+        }
+        count = 0;
+    }
+    
+    public int getActiveCount() {
+        return count;
+    }
+    
+    // Active effect by slot, 0 to getActiveCount() - 1; the cell is x * height + y
+    public int getActiveCell(int i) { return cells[i]; }
+    public Color getActiveColorAt(int i) { return colors[i]; }
+    
+    private void removeSlot(int slot) {
+        slotOfCell[cells[slot]] = -1;
+        int last = --count;
+        if (slot != last) {
+            cells[slot] = cells[last];
+            expiresAt[slot] = expiresAt[last];
+            colors[slot] = colors[last];
+            slotOfCell[cells[slot]] = slot;
+        }
+        colors[last] = null;
+    }
+    
+    private void grow() {
+        int capacity = cells.length * 2;
+        cells = Arrays.copyOf(cells, capacity);
+        expiresAt = Arrays.copyOf(expiresAt, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+    }
+}
@@ -1,93 +1,123 @@
-package application;
-
-/**
- * Abstract base class for all enemy types.
- * Defines common properties and behavior.
- */
-public abstract class Enemy {
-    // Position
-    protected int x, y;
-    
-    // Stats
-    protected int hp;                    // Current health
-    protected int maxHp;                 // Maximum health
-    protected int damage;                // Damage dealt to player
-    protected boolean dead;              // Dead status
-    
-    // AI timing
-    protected double movementCooldown;   // Time until next move
-    protected double movementCooldownMax; // Max movement cooldown
-    
-    // Type identifier
-    protected EnemyType type;
-    
-    /**
-     * Enemy type enum.
-     */
-    public enum EnemyType {
-        GOBLIN,
-        SKELETON,
-        BRUTE,
-        BOOMER
-    }
-    
-    /**
-     * Creates an enemy at specified position with type.
-     */
-    public Enemy(int x, int y, EnemyType type) {
-        this.x = x;
-        this.y = y;
-        this.type = type;
-        this.dead = false;
-    }
-    
-    /**
-     * Updates enemy AI and behavior.
-     * @return Movement direction [dx, dy] or null if no move
-     */
-    public abstract int[] updateAI(double deltaTime, int playerX, int playerY, 
-                                   Pathfinder pathfinder, int[][] grid);
-    
-    /**
-     * Checks if enemy can attack player at target position.
-     */
-    public boolean canAttackPlayer(int playerX, int playerY) {
-        int dx = Math.abs(x - playerX);
-        int dy = Math.abs(y - playerY);
-        
-        // Adjacent (including diagonals)
-        return dx <= 1 && dy <= 1 && !(dx == 0 && dy == 0);
-    }
-    
-    /**
-     * Takes damage.
-     */
-    public void takeDamage(int damage) {
-        if (dead) return;
-        
-        hp -= damage;
-        if (hp <= 0) {
-            hp = 0;
-            dead = true;
-            System.out.println("[COMBAT] " + type + " defeated at (" + x + "," + y + ")");
-        }
-    }
-    
-    /**
-     * Moves enemy to new position.
-     */
-    public void moveTo(int newX, int newY) {
-        this.x = newX;
-        this.y = newY;
-    }
-    
-    // Getters
-    public int getX() { return x; }
-    public int getY() { return y; }
-    public int getHp() { return hp; }
-    public int getMaxHp() { return maxHp; }
-    public int getDamage() { return damage; }
-    public boolean isDead() { return dead; }
-    public EnemyType getType() { return type; }
-    public double getMovementCooldown() { return movementCooldown; }
+package application;
+
+/**
+ * Abstract base class for all enemy types.
+ * Defines common properties and behavior.
+ */
+public abstract class Enemy implements Cloneable {
+    // Identity (assigned at spawn, orders conflicting moves)
+    protected int id;
+    
+    // Position
+    protected int x, y;
+    
+    // Stats
+    protected int hp;                    // Current health
+    protected int maxHp;                 // Maximum health
+    protected int damage;                // Damage dealt to player
+    protected boolean dead;              // Dead status
+    
+    // AI timing
+    protected long nextActionTick;       // Tick of next scheduled action
+    protected int actionIntervalTicks;   // Ticks between actions
+    protected int[] lastMove;            // Last applied direction, reused when replans are deferred
+    
+    // Type identifier
+    protected EnemyType type;
+    
+    /**
+     * Enemy type enum.
+     */
+    public enum EnemyType {
+        GOBLIN,
+        SKELETON,
+        BRUTE,
+        BOOMER
+    }
+    
+    /**
+     * Creates an enemy at specified position with type.
+     */
+    public Enemy(int x, int y, EnemyType type) {
+        this.x = x;
+        this.y = y;
+        this.type = type;
+        this.dead = false;
+    }
+    
+    /**
+     * Decides the enemy's next move. Called by the scheduler only when the
+     * enemy's action is due, so implementations do not track cooldowns.
+     * @return Movement direction [dx, dy] or null if no move
+     */
+    public abstract int[] updateAI(int playerX, int playerY, 
+                                   Pathfinder pathfinder, int[][] grid);
+    
+    /**
+     * Checks if enemy can attack player at target position.
+     */
+    public boolean canAttackPlayer(int playerX, int playerY) {
+        int dx = Math.abs(x - playerX);
+        int dy = Math.abs(y - playerY);
+        
+        // Adjacent (including diagonals)
+        return dx <= 1 && dy <= 1 && !(dx == 0 && dy == 0);
+    }
+    
+    /**
+     * Takes damage.
+     */
+    public void takeDamage(int damage) {
+        if (dead) return;
+        
+        hp -= damage;
+        if (hp <= 0) {
+            hp = 0;
+            dead = true;
+            GameLog.log(GameLog.Level.DEBUG, GameLog.Category.COMBAT, "{} defeated at ({},{})", type, x, y);
+        }
+    }
+    
+    /**
+     * Restores health state recorded before a rolled-back lookahead.
+     */
+    public void restoreHealth(int hp, boolean dead) {
+        this.hp = hp;
+        this.dead = dead;
+    }
+    
+    /**
+     * Creates an independent copy for a cloned game state.
+     */
+    public Enemy copy() {
+        try {
+            return (Enemy) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+    
+    /**
+     * Moves enemy to new position.
+     */
+    public void moveTo(int newX, int newY) {
+        this.x = newX;
+        this.y = newY;
+    }
+    
+    // Getters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public int getHp() { return hp; }
+    public int getMaxHp() { return maxHp; }
+    public int getDamage() { return damage; }
+    public boolean isDead() { return dead; }
+    public EnemyType getType() { return type; }
+    public int[] getLastMove() { return lastMove; }
+    public void setLastMove(int[] move) { this.lastMove = move; }
+    public long getNextActionTick() { return nextActionTick; }
+    public void setNextActionTick(long tick) { this.nextActionTick = tick; }
+    public int getActionIntervalTicks() { return actionIntervalTicks; }
 }
\ No newline at end of file
@@ -0,0 +1,331 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typed event bus between the simulation and its consumers (panel, loggers,
+ * metrics, network). Listeners subscribe per event type; each type has its
+ * own bucket of primitive records, and buckets are flushed in a fixed
+ * priority order, so no sorting is needed. Each listener gets one batch
+ * call per type per flush. Events of a type nobody subscribes to are not
+ * recorded at all.
+ *
+ * Coalescing rules:
+ * - PLAYER_MOVE: all moves between flushes merge into one record running
+ *   from the first origin to the last destination.
+ * - PLAYER_DAMAGE: merged per cell, keeping the latest health.
+ * - ENEMY_MOVE: never merged (each move clears its own origin cell).
+ * - Everything else is kept, including repeated DAMAGE on one cell, unless
+ *   per-cell coalescing is requested (tick watchdog COALESCE_EVENTS), in
+ *   which case events of the same type on the same cell keep the latest value.
+ * A bus created without merging ignores all of these and keeps every record,
+ * for consumers such as event streams that must see each event.
+ */
+public class EventBus {
+    /**
+     * Receives batches of one event type.
+     */
+    public interface Listener {
+        /**
+         * Called once per flush for each subscribed type with queued events.
+         * The batch is only valid during the call.
+         */
+        void onEvents(GameUpdateEvent.Type type, Batch batch);
+        
+        /**
+         * Called once after a flush that delivered anything to this listener.
+         */
+        default void onFlushComplete() { }
+    }
+    
+    /**
+     * Delivery order: rewinds first, then spawns, player moves last.
+     */
+    private static final GameUpdateEvent.Type[] DELIVERY_ORDER = {
+        GameUpdateEvent.Type.REWIND,
+        GameUpdateEvent.Type.ENEMY_SPAWN,
+        GameUpdateEvent.Type.ENEMY_MOVE,
+        GameUpdateEvent.Type.DAMAGE,
+        GameUpdateEvent.Type.REMOVE_ENTITY,
+        GameUpdateEvent.Type.IMPACT,
+        GameUpdateEvent.Type.PLAYER_DAMAGE,
+        GameUpdateEvent.Type.PLAYER_MOVE
+    };
+    
+    // Merge policies
+    private static final int MERGE_NEVER = 0;
+    private static final int MERGE_WHEN_COALESCING = 1;
+    private static final int MERGE_PER_CELL = 2;
+    private static final int MERGE_ALL = 3;
+    
+    // Events delivered by all buses, by type ordinal
+    private static final Metrics.Counter[] DELIVERED = Metrics.counters(
+        "pkp_events_total", "Game update events delivered to listeners", "type", GameUpdateEvent.Type.class);
+    
+    /**
+     * Queued records of one event type, stored as primitive columns.
+     */
+    public static final class Batch {
+        private final GameUpdateEvent.Type type;
+        private final int mergePolicy;
+        private int[] oldX, oldY, newX, newY, values;
+        private int size;                // Records queued
+        private int delivered;           // Records visible to listeners
+        
+        // Per-cell merge lookup, valid while the stamp matches
+        private final int height;
+        private final int[] cellSlot;
+        private final int[] cellStamp;
+        private int generation;
+        
+        Batch(GameUpdateEvent.Type type, int mergePolicy, int width, int height, int capacity) {
+            this.type = type;
+            this.mergePolicy = mergePolicy;
+            this.height = height;
+            this.cellSlot = new int[width * height];
+            this.cellStamp = new int[width * height];
+            this.generation = 1;
+            oldX = new int[capacity];
+            oldY = new int[capacity];
+            newX = new int[capacity];
+            newY = new int[capacity];
+            values = new int[capacity];
+        }
+        
+        void add(int fromX, int fromY, int toX, int toY, int value, boolean coalescePerCell) {
+            int start = delivered; // Never merge into records already being delivered
+            if (mergePolicy == MERGE_ALL && size > start) {
+                newX[start] = toX;
+                newY[start] = toY;
+                values[start] = value;
+                return;
+            }
+            
+            boolean merge = mergePolicy == MERGE_PER_CELL
+                         || (mergePolicy == MERGE_WHEN_COALESCING && coalescePerCell);
+            int cell = toX * height + toY;
+            if (merge && cellStamp[cell] == generation) {
+                values[cellSlot[cell]] = value;
+                return;
+            }
+            
+            if (size == oldX.length) {
+                grow();
+            }
+            oldX[size] = fromX;
+            oldY[size] = fromY;
+            newX[size] = toX;
+            newY[size] = toY;
+            values[size] = value;
+            if (merge) {
+                cellSlot[cell] = size;
+                cellStamp[cell] = generation;
+            }
+            size++;
+        }
+        
+        private void grow() {
+            int capacity = oldX.length * 2;
+            oldX = Arrays.copyOf(oldX, capacity);
+            oldY = Arrays.copyOf(oldY, capacity);
+            newX = Arrays.copyOf(newX, capacity);
+            newY = Arrays.copyOf(newY, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        
+        /**
+         * Opens the queued records for delivery.
+         */
+        void beginDelivery() {
+            delivered = size;
+            generation++; // Events queued from here on start fresh records
+        }
+        
+        /**
+         * Drops delivered records, keeping any queued during delivery.
+         */
+        void endDelivery() {
+            int remaining = size - delivered;
+            if (remaining > 0) {
+                System.arraycopy(oldX, delivered, oldX, 0, remaining);
+                System.arraycopy(oldY, delivered, oldY, 0, remaining);
+                System.arraycopy(newX, delivered, newX, 0, remaining);
+                System.arraycopy(newY, delivered, newY, 0, remaining);
+                System.arraycopy(values, delivered, values, 0, remaining);
+                generation++; // Merge slots point at the old positions
+            }
+            size = remaining;
+            delivered = 0;
+        }
+        
+        void clear() {
+            size = 0;
+            delivered = 0;
+            generation++;
+        }
+        
+        // Record accessors
+        public GameUpdateEvent.Type getType() { return type; }
+        public int size() { return delivered; }
+        public int oldX(int i) { return oldX[i]; }
+        public int oldY(int i) { return oldY[i]; }
+        public int newX(int i) { return newX[i]; }
+        public int newY(int i) { return newY[i]; }
+        public int value(int i) { return values[i]; }
+    }
+    
+    private final Batch[] buckets;                 // Indexed by delivery order
+    private final int[] bucketOfType;              // Type ordinal -> bucket index
+    private final List<List<Listener>> listeners;  // Per bucket
+    private final boolean[] subscribed;            // Per type ordinal
+    private final List<Listener> allListeners;     // Each listener once
+    private final boolean[] received;              // Per entry in allListeners, during a flush
+    
+    /**
+     * Creates a merging bus for a grid of the given size.
+     * @param capacity Initial records per type
+     */
+    public EventBus(int width, int height, int capacity) {
+        this(width, height, capacity, true);
+    }
+    
+    /**
+     * Creates a bus for a grid of the given size.
+     * @param capacity Initial records per type
+     * @param merge False to keep every record regardless of type and
+     *              coalescing requests
+     */
+    public EventBus(int width, int height, int capacity, boolean merge) {
+        int types = GameUpdateEvent.Type.values().length;
+        buckets = new Batch[DELIVERY_ORDER.length];
+        bucketOfType = new int[types];
+        listeners = new ArrayList<>();
+        subscribed = new boolean[types];
+        allListeners = new ArrayList<>();
+        received = new boolean[64];
+        
+        for (int i = 0; i < DELIVERY_ORDER.length; i++) {
+            GameUpdateEvent.Type type = DELIVERY_ORDER[i];
+            buckets[i] = new Batch(type, merge ? mergePolicy(type) : MERGE_NEVER, width, height, capacity);
+            bucketOfType[type.ordinal()] = i;
+            listeners.add(new ArrayList<>());
+        }
+    }
+    
+    private static int mergePolicy(GameUpdateEvent.Type type) {
+        switch (type) {
+            case PLAYER_MOVE: return MERGE_ALL;
+            case PLAYER_DAMAGE: return MERGE_PER_CELL;
+            case ENEMY_MOVE: return MERGE_NEVER;
+            default: return MERGE_WHEN_COALESCING;
+        }
+    }
+    
+    /**
+     * Subscribes a listener to one event type.
+     */
+    public void subscribe(GameUpdateEvent.Type type, Listener listener) {
+        List<Listener> list = listeners.get(bucketOfType[type.ordinal()]);
+        if (list.contains(listener)) return;
+        
+        list.add(listener);
+        subscribed[type.ordinal()] = true;
+        if (!allListeners.contains(listener)) {
+            if (allListeners.size() == received.length) {
+                throw new IllegalStateException("Too many event listeners");
+            }
+            allListeners.add(listener);
+        }
+    }
+    
+    /**
+     * Subscribes a listener to every event type.
+     */
+    public void subscribeAll(Listener listener) {
+        for (GameUpdateEvent.Type type : DELIVERY_ORDER) {
+            subscribe(type, listener);
+        }
+    }
+    
+    /**
+     * Removes a listener from every event type.
+     */
+    public void unsubscribe(Listener listener) {
+        for (int i = 0; i < buckets.length; i++) {
+            List<Listener> list = listeners.get(i);
+            list.remove(listener);
+            if (list.isEmpty()) {
+                subscribed[buckets[i].type.ordinal()] = false;
+                buckets[i].clear();
+            }
+        }
+        allListeners.remove(listener);
+    }
+    
+    /**
+     * Checks if anyone listens for the type. Publishers may skip building
+     * events that nobody wants.
+     */
+    public boolean isSubscribed(GameUpdateEvent.Type type) {
+        return subscribed[type.ordinal()];
+    }
+    
+    /**
+     * Queues an event. Events of unsubscribed types are dropped.
+     * @param coalescePerCell Merge same-type events on the same cell
+     */
+    public void publish(GameUpdateEvent.Type type, int oldX, int oldY, int newX, int newY,
+                        int value, boolean coalescePerCell) {
+        if (!subscribed[type.ordinal()]) return;
+        buckets[bucketOfType[type.ordinal()]].add(oldX, oldY, newX, newY, value, coalescePerCell);
+    }
+    
+    /**
+     * Delivers every queued batch to its listeners in priority order.
+     * Events published during delivery are kept for the next flush.
+     * @return Number of events delivered
+     */
+    public int flush() {
+        int total = 0;
+        
+        for (int i = 0; i < buckets.length; i++) {
+            Batch batch = buckets[i];
+            if (batch.size == 0) continue;
+            
+            batch.beginDelivery();
+            try {
+                List<Listener> list = listeners.get(i);
+                for (int l = 0; l < list.size(); l++) {
+                    Listener listener = list.get(l);
+                    listener.onEvents(batch.type, batch);
+                    received[allListeners.indexOf(listener)] = true;
+                }
+                total += batch.delivered;
+                DELIVERED[batch.type.ordinal()].add(batch.delivered);
+            } finally {
+                batch.endDelivery();
+            }
+        }
+        
+        if (total > 0) {
+            for (int l = 0; l < allListeners.size(); l++) {
+                if (received[l]) {
+                    received[l] = false;
+                    allListeners.get(l).onFlushComplete();
+                }
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * Drops all queued events.
+     */
+    public void clear() {
+        for (Batch batch : buckets) {
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Serializes event bus batches into a compact binary stream for replays,
+ * telemetry and remote viewers.
+ *
+ * Stream layout (all integers are unsigned LEB128 varints, signed ones
+ * zigzag-encoded first):
+ *   header: "PKEV", version byte, grid width, grid height
+ *   frame:  body length, then body
+ *   body:   tick delta since the previous frame (signed: a rewind steps
+ *           back), then per non-empty batch:
+ *           type ordinal, record count, and per record
+ *           cell delta (cell = x * height + y, relative to the previous record
+ *           of the batch), origin offset (move types only, origin - cell) and
+ *           value delta (relative to the previous record of the batch)
+ *
+ * The encoder listens on the game's tick event bus, so each frame holds the
+ * events of exactly one tick (ticks without events write no frame) and
+ * a stream can be replayed tick by tick however the game was rendered.
+ * Nothing is merged on that bus, and a rewind appears as one REWIND record
+ * whose value is the number of ticks undone.
+ *
+ * Frames are collected in a reused buffer and written to the channel when it
+ * fills or on flush(), so encoding a frame does not allocate.
+ */
+public class EventStreamEncoder implements EventBus.Listener {
+    private static final byte[] MAGIC = {'P', 'K', 'E', 'V'};
+    private static final int VERSION = 2;
+    private static final int LENGTH_RESERVE = 5;        // Max varint bytes for a frame length
+    private static final int INITIAL_BODY_SIZE = 4096;
+    private static final int WRITE_THRESHOLD = 64 * 1024;
+    
+    private final GameLogic logic;
+    private final WritableByteChannel channel;
+    private final int height;
+    
+    private ByteBuffer body;                 // Frame being encoded, after LENGTH_RESERVE bytes
+    private ByteBuffer out;                  // Finished frames waiting to be written
+    private long lastTick;
+    private boolean frameOpen;
+    private boolean failed;
+    
+    // Statistics
+    private long framesWritten;
+    private long eventsWritten;
+    private long bytesWritten;
+    
+    /**
+     * Creates an encoder and subscribes it to every event type of the
+     * game's tick event bus.
+     */
+    public EventStreamEncoder(GameLogic logic, WritableByteChannel channel) {
+        this.logic = logic;
+        this.channel = channel;
+        this.height = GameLogic.GRID_HEIGHT;
+        this.body = ByteBuffer.allocate(INITIAL_BODY_SIZE);
+        this.out = ByteBuffer.allocate(WRITE_THRESHOLD * 2);
+        this.lastTick = logic.getCurrentTick();
+        
+        out.put(MAGIC);
+        out.put((byte) VERSION);
+        putVarint(out, GameLogic.GRID_WIDTH);
+        putVarint(out, GameLogic.GRID_HEIGHT);
+        
+        logic.getTickEventBus().subscribeAll(this);
+    }
+    
+    /**
+     * Starts a frame stamped with the current tick.
+     */
+    private void startFrame() {
+        body.clear();
+        body.position(LENGTH_RESERVE);
+        long tick = logic.getCurrentTick();
+        putVarint(body, zigzag(tick - lastTick));
+        lastTick = tick;
+        frameOpen = true;
+    }
+    
+    @Override
+    public void onEvents(GameUpdateEvent.Type type, EventBus.Batch batch) {
+        if (!frameOpen) {
+            startFrame();
+        }
+        
+        int count = batch.size();
+        boolean move = type == GameUpdateEvent.Type.PLAYER_MOVE
+                    || type == GameUpdateEvent.Type.ENEMY_MOVE;
+        
+        // Worst case: two header varints plus three varints per record
+        ensureBodySpace(10 + count * 15);
+        body.put((byte) type.ordinal());
+        putVarint(body, count);
+        
+        int prevCell = 0;
+        int prevValue = 0;
+        for (int i = 0; i < count; i++) {
+            int cell = batch.newX(i) * height + batch.newY(i);
+            putVarint(body, zigzag(cell - prevCell));
+            if (move) {
+                int origin = batch.oldX(i) * height + batch.oldY(i);
+                putVarint(body, zigzag(origin - cell));
+            }
+            putVarint(body, zigzag(batch.value(i) - prevValue));
+            prevCell = cell;
+            prevValue = batch.value(i);
+        }
+        eventsWritten += count;
+    }
+    
+    /**
+     * Closes the current frame once all batches of a tick are encoded.
+     */
+    @Override
+    public void onFlushComplete() {
+        int length = body.position() - LENGTH_RESERVE;
+        
+        // Write the length varint right before the body
+        int lengthBytes = varintSize(length);
+        int start = LENGTH_RESERVE - lengthBytes;
+        body.position(start);
+        putVarint(body, length);
+        body.limit(LENGTH_RESERVE + length);
+        body.position(start);
+        
+        if (out.remaining() < body.remaining()) {
+            writeOut();
+            if (out.capacity() < body.remaining()) {
+                out = ByteBuffer.allocate(body.remaining() * 2);
+            }
+        }
+        out.put(body);
+        framesWritten++;
+        
+        if (out.position() >= WRITE_THRESHOLD) {
+            writeOut();
+        }
+        frameOpen = false;
+    }
+    
+    /**
+     * Writes all finished frames to the channel.
+     */
+    public void flush() {
+        writeOut();
+    }
+    
+    /**
+     * Unsubscribes, writes pending frames and closes the channel.
+     */
+    public void close() {
+        logic.getTickEventBus().unsubscribe(this);
+        writeOut();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            GameLog.log(GameLog.Level.WARN, GameLog.Category.STREAM, "Failed to close event stream: {}", e.getMessage());
+        }
+    }
+    
+    private void writeOut() {
+        out.flip();
+        try {
+            while (out.hasRemaining() && !failed) {
+                bytesWritten += channel.write(out);
+            }
+        } catch (IOException e) {
+            // Keep the game running; the stream just stops
+            failed = true;
+            GameLog.log(GameLog.Level.ERROR, GameLog.Category.STREAM, "Event stream disabled: {}", e.getMessage());
+        }
+        out.clear();
+    }
+    
+    private void ensureBodySpace(int bytes) {
+        if (body.remaining() < bytes) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(body.capacity() * 2, body.position() + bytes));
+            body.flip();
+            bigger.put(body);
+            body = bigger;
+        }
+    }
+    
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+    
+    private static long zigzag(int value) {
+        return ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL;
+    }
+    
+    private static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+    
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            size++;
+            value >>>= 7;
+        }
+        return size;
+    }
+    
+    // Statistics
+    public long getFramesWritten() { return framesWritten; }
+    public long getEventsWritten() { return eventsWritten; }
+    public long getBytesWritten() { return bytesWritten; }
+    public boolean isFailed() { return failed; }
+}
@@ -0,0 +1,217 @@
+package application;
+
+/**
+ * Cells the player can see, for fog of war.
+ * Uses symmetric shadowcasting: each quadrant is scanned row by row away
+ * from the origin, narrowing the visible slope range at every opaque cell,
+ * so a cell is visible exactly when the origin is visible from it. Slopes
+ * are kept as integer fractions, so no rounding error creeps into which
+ * cells are revealed.
+ *
+ * Visibility is a bitset indexed like the dirty-cell set (x * height + y).
+ * It is only recomputed when the origin moves or an opaque cell within the
+ * view radius changes, and each recompute touches only the cells inside
+ * the radius, so its cost does not grow with the map.
+ */
+public class FieldOfView {
+    private static final int NONE = 0, FLOOR = 1, WALL = 2;
+    
+    /**
+     * Receives cells that became visible or hidden.
+     */
+    public interface CellListener {
+        void visibilityChanged(int x, int y);
+    }
+    
+    private final int width;
+    private final int height;
+    private final int radius;
+    private final CellListener listener;
+    
+    private final boolean[] opaque;      // Sight-blocking cells, by x * height + y
+    private long[] visible;              // Current visibility bits
+    private long[] scratch;              // Bits being computed; all clear between updates
+    private int[] visibleCells;          // Cells set in visible, to clear them cheaply
+    private int[] scratchCells;
+    private int visibleCount;
+    private int scratchCount;
+    
+    private int originX = -1, originY = -1;
+    private boolean stale = true;
+    private long recomputes;
+    
+    public FieldOfView(int width, int height, int radius, CellListener listener) {
+        this.width = width;
+        this.height = height;
+        this.radius = radius;
+        this.listener = listener;
+        this.opaque = new boolean[width * height];
+        this.visible = new long[(width * height + 63) >>> 6];
+        this.scratch = new long[visible.length];
+        int side = 2 * radius + 1;
+        this.visibleCells = new int[side * side];
+        this.scratchCells = new int[side * side];
+    }
+    
+    /**
+     * Loads which cells block sight from an obstacle grid.
+     */
+    public void rebuild(Obstacle[][] obstacles) {
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Obstacle obstacle = obstacles[x][y];
+                opaque[x * height + y] = obstacle != null && obstacle.blocksSight();
+            }
+        }
+        stale = true;
+    }
+    
+    /**
+     * Updates whether a cell blocks sight. Visibility is recomputed on the
+     * next update only if the cell is within the view radius.
+     */
+    public void setOpaque(int x, int y, boolean blocks) {
+        int cell = x * height + y;
+        if (opaque[cell] == blocks) return;
+        opaque[cell] = blocks;
+        if (Math.abs(x - originX) <= radius && Math.abs(y - originY) <= radius) {
+            stale = true;
+        }
+    }
+    
+    /**
+     * Recomputes visibility from a cell if it moved or the view changed,
+     * reporting cells whose visibility flipped.
+     */
+    public void update(int x, int y) {
+        if (!stale && x == originX && y == originY) return;
+        originX = x;
+        originY = y;
+        stale = false;
+        recomputes++;
+        
+        scratchCount = 0;
+        reveal(x, y);
+        for (int quadrant = 0; quadrant < 4; quadrant++) {
+            scan(quadrant, 1, -1, 1, 1, 1);
+        }
+        
+        // Report cells that appeared, then those that disappeared, clearing
+        // the old bits so the old set can be reused as the next scratch
+        for (int i = 0; i < scratchCount; i++) {
+            int cell = scratchCells[i];
+            if (!isSet(visible, cell)) report(cell);
+        }
+        for (int i = 0; i < visibleCount; i++) {
+            int cell = visibleCells[i];
+            if (!isSet(scratch, cell)) report(cell);
+            visible[cell >>> 6] &= ~(1L << cell);
+        }
+        
+        long[] swapBits = visible; visible = scratch; scratch = swapBits;
+        int[] swapCells = visibleCells; visibleCells = scratchCells; scratchCells = swapCells;
+        visibleCount = scratchCount;
+    }
+    
+    /**
+     * Checks if a cell was visible at the last update.
+     */
+    public boolean isVisible(int x, int y) {
+        return isSet(visible, x * height + y);
+    }
+    
+    // Raw visibility bits, cell x * height + y is bit (cell & 63) of word cell >>> 6
+    public int getWordCount() { return visible.length; }
+    public long getWord(int i) { return visible[i]; }
+    
+    public int getVisibleCount() { return visibleCount; }
+    public int getRadius() { return radius; }
+    public long getRecomputeCount() { return recomputes; }
+    
+    // ==================== SHADOWCASTING ====================
+    
+    /**
+     * Scans one row of a quadrant between two slopes, given as fractions
+     * of columns per row, then the rows behind it.
+     */
+    private void scan(int quadrant, int depth, int startNum, int startDen, int endNum, int endDen) {
+        if (depth > radius) return;
+        
+        int minCol = roundTiesUp(depth * startNum, startDen);
+        int maxCol = roundTiesDown(depth * endNum, endDen);
+        int previous = NONE;
+        for (int col = minCol; col <= maxCol; col++) {
+            int x = cellX(quadrant, depth, col);
+            int y = cellY(quadrant, depth, col);
+            boolean wall = isOpaque(x, y);
+            
+            // Walls are seen from any angle; floors only if symmetric
+            if (wall || (col * startDen >= depth * startNum && col * endDen <= depth * endNum)) {
+                if (col * col + depth * depth <= radius * (radius + 1)) {
+                    reveal(x, y);
+                }
+            }
+            if (previous == WALL && !wall) {
+                startNum = 2 * col - 1;
+                startDen = 2 * depth;
+            }
+            if (previous == FLOOR && wall) {
+                scan(quadrant, depth + 1, startNum, startDen, 2 * col - 1, 2 * depth);
+            }
+            previous = wall ? WALL : FLOOR;
+        }
+        if (previous == FLOOR) {
+            scan(quadrant, depth + 1, startNum, startDen, endNum, endDen);
+        }
+    }
+    
+    // Quadrants: 0 north, 1 east, 2 south, 3 west
+    private int cellX(int quadrant, int depth, int col) {
+        switch (quadrant) {
+            case 1: return originX + depth;
+            case 3: return originX - depth;
+            default: return originX + col;
+        }
+    }
+    
+    private int cellY(int quadrant, int depth, int col) {
+        switch (quadrant) {
+            case 0: return originY - depth;
+            case 2: return originY + depth;
+            default: return originY + col;
+        }
+    }
+    
+    // Cells outside the map block sight
+    private boolean isOpaque(int x, int y) {
+        return x < 0 || x >= width || y < 0 || y >= height || opaque[x * height + y];
+    }
+    
+    private void reveal(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) return;
+        int cell = x * height + y;
+        if (!isSet(scratch, cell)) {
+            scratch[cell >>> 6] |= 1L << cell;
+            scratchCells[scratchCount++] = cell;
+        }
+    }
+    
+    // floor(n / d + 1/2) and ceil(n / d - 1/2) for d > 0
+    private static int roundTiesUp(int n, int d) {
+        return Math.floorDiv(2 * n + d, 2 * d);
+    }
+    
+    private static int roundTiesDown(int n, int d) {
+        return -Math.floorDiv(d - 2 * n, 2 * d);
+    }
+    
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+    
+    private void report(int cell) {
+        if (listener != null) {
+            listener.visibilityChanged(cell / height, cell % height);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package application;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder events for game-level activity, so one recording
+ * shows ticks, searches, spawns, waves and panel batches on the same
+ * timeline as GC, allocation and thread samples.
+ *
+ * Events are created, begun and committed in one method and never escape
+ * it, so when their type is disabled the JIT removes the allocation and
+ * begin/commit do nothing. The Wave event is the exception: it spans many
+ * ticks, so one is kept per wave. Fields are only filled in when
+ * shouldCommit() says the event will be written. Path searches are off by
+ * default because there are many per tick; enable them in a .jfc file or
+ * with jfr configure, e.g. +pkp.PathSearch#enabled=true.
+ */
+public final class FlightEvents {
+    private static final String CATEGORY = "Push Knight Peril";
+    
+    private FlightEvents() { }
+    
+    @Name("pkp.Tick")
+    @Label("Game Tick")
+    @Description("One fixed simulation tick of GameLogic")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static final class Tick extends Event {
+        @Label("Tick")
+        long tick;
+        
+        @Label("Alive Enemies")
+        int aliveEnemies;
+        
+        @Label("Watchdog Level")
+        String watchdogLevel;
+    }
+    
+    @Name("pkp.PathSearch")
+    @Label("Path Search")
+    @Description("One A* search from an enemy to the player")
+    @Category({CATEGORY, "Simulation"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PathSearch extends Event {
+        @Label("Start X")
+        int startX;
+        
+        @Label("Start Y")
+        int startY;
+        
+        @Label("Target X")
+        int targetX;
+        
+        @Label("Target Y")
+        int targetY;
+        
+        @Label("Nodes Expanded")
+        int nodesExpanded;
+        
+        @Label("Path Found")
+        boolean found;
+    }
+    
+    @Name("pkp.Spawn")
+    @Label("Enemy Spawn")
+    @Description("SpawnSystem picking a spawn point and creating an enemy")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static final class Spawn extends Event {
+        @Label("Enemy Type")
+        String enemyType;
+        
+        @Label("X")
+        int x;
+        
+        @Label("Y")
+        int y;
+        
+        @Label("Wave")
+        int wave;
+        
+        @Label("Attempts")
+        int attempts;
+    }
+    
+    @Name("pkp.Wave")
+    @Label("Wave")
+    @Description("A wave, from its start to its completion")
+    @Category({CATEGORY, "Simulation"})
+    @StackTrace(false)
+    static final class Wave extends Event {
+        @Label("Wave")
+        int wave;
+        
+        @Label("Enemies")
+        int enemies;
+        
+        @Label("Start Tick")
+        long startTick;
+        
+        @Label("End Tick")
+        long endTick;
+    }
+    
+    @Name("pkp.PanelBatch")
+    @Label("Panel Event Batch")
+    @Description("GamePanel handling one batch of game update events")
+    @Category({CATEGORY, "Rendering"})
+    @StackTrace(false)
+    static final class PanelBatch extends Event {
+        @Label("Event Type")
+        String eventType;
+        
+        @Label("Events")
+        int events;
+    }
+}
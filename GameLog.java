@@ -0,0 +1,288 @@
+package application;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Leveled, categorized game log written by a background thread.
+ * Checking whether a record is wanted is a single comparison against a
+ * per-category threshold, and arguments are passed as primitives or
+ * existing objects, so a disabled call builds no strings and allocates
+ * nothing. Enabled records are copied into a preallocated ring buffer that
+ * any thread can write to without locking; a daemon writer drains it,
+ * formats each record and prints it.
+ *
+ * Templates use {} placeholders, filled with the object arguments first and
+ * then the numbers. Objects are formatted on the writer thread, so only
+ * pass values that do not change afterwards (enums, strings). When the ring
+ * is full, new records are dropped and counted rather than blocking the
+ * game.
+ *
+ * Thresholds default to INFO (DEBUG with DEBUG_MODE) and can be set with
+ * -Dlog.level=DEBUG, per category with -Dlog.level.AI=DEBUG, or setLevel.
+ */
+public final class GameLog {
+
+    /**
+     * Severity of a record.
+     */
+    public enum Level {
+        DEBUG, INFO, WARN, ERROR, OFF
+    }
+    
+    /**
+     * Subsystem a record comes from, printed as its tag.
+     */
+    public enum Category {
+        GAME, INIT, AI, SPAWN, WAVE, COMBAT, EXPLOSION, TRAP, COLLISION,
+        PLAYER, UPGRADE, REWIND, WATCHDOG, STREAM, TELEMETRY, METRICS, BENCH, FARM
+    }
+    
+    private static final int MAX_OBJECTS = 2;
+    private static final int MAX_LONGS = 5;
+    private static final long IDLE_PARK_NANOS = 2_000_000L;
+    
+    // Lowest enabled level per category ordinal
+    private static final int[] THRESHOLDS = new int[Category.values().length];
+    
+    // Ring of records; slot i holds a record once PUBLISHED[i] == sequence + 1
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(16, Constants.LOG_RING_CAPACITY));
+    private static final int MASK = CAPACITY - 1;
+    private static final AtomicLong TAIL = new AtomicLong();
+    private static volatile long head;
+    private static final AtomicLongArray PUBLISHED = new AtomicLongArray(CAPACITY);
+    private static final byte[] SLOT_LEVELS = new byte[CAPACITY];
+    private static final byte[] SLOT_CATEGORIES = new byte[CAPACITY];
+    private static final String[] TEMPLATES = new String[CAPACITY];
+    private static final Object[] OBJECTS = new Object[CAPACITY * MAX_OBJECTS];
+    private static final long[] LONGS = new long[CAPACITY * MAX_LONGS];
+    private static final byte[] OBJECT_COUNTS = new byte[CAPACITY];
+    private static final byte[] LONG_COUNTS = new byte[CAPACITY];
+    private static final LongAdder DROPPED = new LongAdder();
+    private static long droppedReported;
+    
+    // Writer side, guarded by the class lock in drain
+    private static final StringBuilder LINE = new StringBuilder(256);
+    private static final Level[] LEVEL_VALUES = Level.values();
+    private static final Category[] CATEGORY_VALUES = Category.values();
+    
+    static {
+        Level fallback = parseLevel(System.getProperty("log.level"),
+                                    Constants.DEBUG_MODE ? Level.DEBUG : Level.INFO);
+        for (Category category : CATEGORY_VALUES) {
+            Level level = parseLevel(System.getProperty("log.level." + category.name()), fallback);
+            THRESHOLDS[category.ordinal()] = level.ordinal();
+        }
+        
+        Thread writer = new Thread(GameLog::writeLoop, "game-log");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(GameLog::flush, "game-log-flush"));
+    }
+    
+    private GameLog() { }
+    
+    // ==================== CONFIGURATION ====================
+    
+    /**
+     * Checks if records of a level are kept for a category.
+     */
+    public static boolean isEnabled(Level level, Category category) {
+        return level.ordinal() >= THRESHOLDS[category.ordinal()];
+    }
+    
+    /**
+     * Sets the lowest level kept for a category.
+     */
+    public static void setLevel(Category category, Level level) {
+        THRESHOLDS[category.ordinal()] = level.ordinal();
+    }
+    
+    /**
+     * Sets the lowest level kept for every category.
+     */
+    public static void setLevel(Level level) {
+        for (Category category : CATEGORY_VALUES) {
+            setLevel(category, level);
+        }
+    }
+    
+    private static Level parseLevel(String value, Level fallback) {
+        if (value == null) return fallback;
+        try {
+            return Level.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+    
+    // ==================== LOGGING ====================
+    
+    public static void log(Level level, Category category, String template) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, null, null, 0, 0, 0, 0, 0, 0, 0);
+    }
+    
+    public static void log(Level level, Category category, String template, long a) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, null, null, 0, a, 0, 0, 0, 0, 1);
+    }
+    
+    public static void log(Level level, Category category, String template, long a, long b) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, null, null, 0, a, b, 0, 0, 0, 2);
+    }
+    
+    public static void log(Level level, Category category, String template, long a, long b, long c) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, null, null, 0, a, b, c, 0, 0, 3);
+    }
+    
+    public static void log(Level level, Category category, String template, Object o) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, o, null, 1, 0, 0, 0, 0, 0, 0);
+    }
+    
+    public static void log(Level level, Category category, String template, Object o, Object p) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, o, p, 2, 0, 0, 0, 0, 0, 0);
+    }
+    
+    public static void log(Level level, Category category, String template, Object o, long a) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, o, null, 1, a, 0, 0, 0, 0, 1);
+    }
+    
+    public static void log(Level level, Category category, String template, Object o, long a, long b) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, o, null, 1, a, b, 0, 0, 0, 2);
+    }
+    
+    public static void log(Level level, Category category, String template, Object o,
+                           long a, long b, long c, long d, long e) {
+        if (!isEnabled(level, category)) return;
+        append(level, category, template, o, null, 1, a, b, c, d, e, 5);
+    }
+    
+    /**
+     * Claims a slot, copies the record into it and publishes it.
+     */
+    private static void append(Level level, Category category, String template,
+                               Object o, Object p, int objectCount,
+                               long a, long b, long c, long d, long e, int longCount) {
+        long sequence;
+        do {
+            sequence = TAIL.get();
+            if (sequence - head >= CAPACITY) {
+                DROPPED.increment();
+                return;
+            }
+        } while (!TAIL.compareAndSet(sequence, sequence + 1));
+        
+        int slot = (int) (sequence & MASK);
+        SLOT_LEVELS[slot] = (byte) level.ordinal();
+        SLOT_CATEGORIES[slot] = (byte) category.ordinal();
+        TEMPLATES[slot] = template;
+        OBJECTS[slot * MAX_OBJECTS] = o;
+        OBJECTS[slot * MAX_OBJECTS + 1] = p;
+        OBJECT_COUNTS[slot] = (byte) objectCount;
+        int base = slot * MAX_LONGS;
+        LONGS[base] = a;
+        LONGS[base + 1] = b;
+        LONGS[base + 2] = c;
+        LONGS[base + 3] = d;
+        LONGS[base + 4] = e;
+        LONG_COUNTS[slot] = (byte) longCount;
+        PUBLISHED.lazySet(slot, sequence + 1);
+    }
+    
+    // ==================== WRITER ====================
+    
+    private static void writeLoop() {
+        while (true) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+    
+    /**
+     * Prints every record PUBLISHED so far. Call before exiting so the
+     * last records are not lost; also runs at JVM shutdown.
+     */
+    public static void flush() {
+        drain();
+    }
+    
+    /**
+     * Number of records DROPPED because the ring was full.
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+    
+    private static synchronized int drain() {
+        int count = 0;
+        boolean wroteOut = false, wroteErr = false;
+        long sequence = head;
+        while (true) {
+            int slot = (int) (sequence & MASK);
+            if (PUBLISHED.get(slot) != sequence + 1) break;
+            
+            Level level = LEVEL_VALUES[SLOT_LEVELS[slot]];
+            PrintStream stream = level.ordinal() >= Level.WARN.ordinal() ? System.err : System.out;
+            format(slot, level);
+            stream.println(LINE);
+            wroteOut |= stream == System.out;
+            wroteErr |= stream == System.err;
+            
+            OBJECTS[slot * MAX_OBJECTS] = null;
+            OBJECTS[slot * MAX_OBJECTS + 1] = null;
+            TEMPLATES[slot] = null;
+            sequence++;
+            head = sequence;  // Frees the slot for producers
+            count++;
+        }
+        
+        long lost = DROPPED.sum();
+        if (lost != droppedReported) {
+            System.err.println("[LOG] Ring full, dropped " + (lost - droppedReported) + " records");
+            droppedReported = lost;
+        }
+        if (wroteOut) System.out.flush();
+        if (wroteErr) System.err.flush();
+        return count;
+    }
+    
+    /**
+     * Formats one record into the shared LINE buffer.
+     */
+    private static void format(int slot, Level level) {
+        LINE.setLength(0);
+        LINE.append('[').append(CATEGORY_VALUES[SLOT_CATEGORIES[slot]].name()).append("] ");
+        if (level.ordinal() >= Level.WARN.ordinal()) {
+            LINE.append(level.name()).append(' ');
+        }
+        
+        String template = TEMPLATES[slot];
+        int objectCount = OBJECT_COUNTS[slot];
+        int longCount = LONG_COUNTS[slot];
+        int arg = 0;
+        int start = 0;
+        int at;
+        while ((at = template.indexOf("{}", start)) >= 0 && arg < objectCount + longCount) {
+            LINE.append(template, start, at);
+            if (arg < objectCount) {
+                LINE.append(OBJECTS[slot * MAX_OBJECTS + arg]);
+            } else {
+                LINE.append(LONGS[slot * MAX_LONGS + arg - objectCount]);
+            }
+            arg++;
+            start = at + 2;
+        }
+        LINE.append(template, start, template.length());
+    }
+}
@@ -1,556 +1,1495 @@
-package application;
-
-import java.util.*;
-
-/**
- * Core game logic with integrated spawn system, enemy AI, and push mechanics.
- */
-public class GameLogic {
-    // Grid dimensions
-    public static final int GRID_WIDTH = 20;
-    public static final int GRID_HEIGHT = 14;
-    
-    // Game entities
-    private Player player;
-    private List<Enemy> enemies;
-    private List<Trap> traps;
-    private int[][] entityGrid;
-    private Obstacle[][] obstacleGrid;
-    
-    // Systems
-    private Pathfinder pathfinder;
-    private SpawnSystem spawnSystem;
-    private UpgradeManager upgradeManager;
-    
-    // Event handling
-    private Map<String, GameUpdateEvent> pendingEvents;
-    private Random random;
-    
-    // Timing
-    private long lastUpdateTime;
-    
-    /**
-     * Creates game logic for specified level.
-     */
-    public GameLogic(int levelNumber) {
-        lastUpdateTime = System.currentTimeMillis();
-        enemies = new ArrayList<>();
-        traps = new ArrayList<>();
-        entityGrid = new int[GRID_WIDTH][GRID_HEIGHT];
-        obstacleGrid = new Obstacle[GRID_WIDTH][GRID_HEIGHT];
-        pendingEvents = new HashMap<>();
-        random = new Random();
-        
-        pathfinder = new Pathfinder();
-        upgradeManager = new UpgradeManager();
-        
-        initializeGrid();
-        initializeSpawnSystem(levelNumber);
-    }
-    
-    /**
-     * Initializes game grid with walls and obstacles.
-     */
-    private void initializeGrid() {
-        // Border walls
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            placeObstacle(x, 0, new Wall());
-            placeObstacle(x, GRID_HEIGHT - 1, new Wall());
-        }
-        for (int y = 0; y < GRID_HEIGHT; y++) {
-            placeObstacle(0, y, new Wall());
-            placeObstacle(GRID_WIDTH - 1, y, new Wall());
-        }
-        
-        // Random interior obstacles
-        for (int x = 1; x < GRID_WIDTH - 1; x++) {
-            for (int y = 1; y < GRID_HEIGHT - 1; y++) {
-                // Skip center area for player spawn
-                if (x >= 8 && x <= 11 && y >= 5 && y <= 8) continue;
-                
-                if (entityGrid[x][y] == 0 && random.nextInt(100) < 12) {
-                    placeObstacle(x, y, createRandomObstacle());
-                }
-            }
-        }
-        
-        // Initialize player at center
-        player = new Player(10, 7);
-        
-        System.out.println("[INIT] Grid initialized, player at (" + 
-                          player.getX() + "," + player.getY() + ")");
-    }
-    
-    /**
-     * Creates random obstacle type.
-     */
-    private Obstacle createRandomObstacle() {
-        int type = random.nextInt(3);
-        switch (type) {
-            case 0: return new Wall();
-            case 1: return new Spikes();
-            case 2: return new Campfire();
-            default: return new Wall();
-        }
-    }
-    
-    /**
-     * Places obstacle in grids.
-     */
-    private void placeObstacle(int x, int y, Obstacle obs) {
-        if (x >= 0 && x < GRID_WIDTH && y >= 0 && y < GRID_HEIGHT) {
-            entityGrid[x][y] = obs.getEntityType();
-            obstacleGrid[x][y] = obs;
-        }
-    }
-    
-    /**
-     * Initializes spawn system.
-     */
-    private void initializeSpawnSystem(int levelNumber) {
-        List<SpawnSystem.SpawnPoint> spawnPoints = new ArrayList<>();
-        
-        // Add spawn points around edges
-        spawnPoints.add(new SpawnSystem.SpawnPoint(5, 2));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(15, 2));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(5, 11));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(15, 11));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(2, 7));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(17, 7));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(10, 2));
-        spawnPoints.add(new SpawnSystem.SpawnPoint(10, 11));
-        
-        if (levelNumber == 0) {
-            spawnSystem = new SpawnSystem(spawnPoints); // Endless mode
-        } else {
-            spawnSystem = new SpawnSystem(spawnPoints, levelNumber);
-        }
-    }
-    
-    /**
-     * Main update loop.
-     */
-    public void updateGame() {
-        long currentTime = System.currentTimeMillis();
-        double deltaTime = (currentTime - lastUpdateTime) / 1000.0;
-        lastUpdateTime = currentTime;
-        deltaTime = Math.min(deltaTime, 0.1);
-        
-        // Update player
-        player.update(deltaTime);
-        
-        // Update traps
-        for (Trap trap : traps) {
-            trap.update(deltaTime);
-        }
-        
-        // Update enemy AI
-        updateEnemyAI(deltaTime);
-        
-        // Update spawn system
-        Enemy newEnemy = spawnSystem.update(deltaTime, enemies, entityGrid);
-        if (newEnemy != null) {
-            enemies.add(newEnemy);
-            entityGrid[newEnemy.getX()][newEnemy.getY()] = 2;
-            addEvent(new GameUpdateEvent(
-                GameUpdateEvent.Type.ENEMY_SPAWN,
-                newEnemy.getX(), newEnemy.getY(), newEnemy.getHp()
-            ));
-        }
-        
-        // Check player environment damage
-        checkEnvironmentDamage();
-    }
-    
-    /**
-     * Updates all enemy AI.
-     */
-    private void updateEnemyAI(double deltaTime) {
-        List<Enemy> toRemove = new ArrayList<>();
-        
-        for (Enemy enemy : enemies) {
-            if (enemy.isDead()) {
-                toRemove.add(enemy);
-                continue;
-            }
-            
-            // Check if adjacent to player (attack range)
-            if (enemy.canAttackPlayer(player.getX(), player.getY())) {
-                player.takeDamage(enemy.getDamage());
-                addEvent(new GameUpdateEvent(
-                    GameUpdateEvent.Type.PLAYER_DAMAGE,
-                    player.getX(), player.getY(), player.getHealth()
-                ));
-                System.out.println("[COMBAT] " + enemy.getType() + 
-                                 " attacked player! Player HP: " + player.getHealth());
-                continue;
-            }
-            
-            // Get AI movement
-            int[] move = enemy.updateAI(deltaTime, player.getX(), player.getY(), 
-                                       pathfinder, entityGrid);
-            
-            if (move != null) {
-                int targetX = enemy.getX() + move[0];
-                int targetY = enemy.getY() + move[1];
-                
-                // Validate and execute move
-                if (isValidPosition(targetX, targetY)) {
-                    int targetType = entityGrid[targetX][targetY];
-                    
-                    // Move to empty or passable obstacle
-                    if (targetType == 0 || targetType == 4) {
-                        moveEnemy(enemy, targetX, targetY);
-                    }
-                }
-            }
-        }
-        
-        // Remove dead enemies and handle explosions
-        for (Enemy enemy : toRemove) {
-            handleEnemyDeath(enemy);
-        }
-        enemies.removeAll(toRemove);
-    }
-    
-    /**
-     * Handles enemy death and special effects (explosions).
-     */
-    private void handleEnemyDeath(Enemy enemy) {
-        int x = enemy.getX();
-        int y = enemy.getY();
-        
-        // Clear from grid
-        entityGrid[x][y] = 0;
-        
-        // Handle Boomer Goblin explosion
-        if (enemy instanceof BoomerGoblin) {
-            BoomerGoblin boomer = (BoomerGoblin) enemy;
-            handleExplosion(boomer);
-        }
-        
-        spawnSystem.onEnemyDefeated();
-        addEvent(new GameUpdateEvent(GameUpdateEvent.Type.REMOVE_ENTITY, x, y));
-    }
-    
-    /**
-     * Handles Boomer Goblin explosion damage.
-     */
-    private void handleExplosion(BoomerGoblin boomer) {
-        int ex = boomer.getX();
-        int ey = boomer.getY();
-        int explosionDamage = boomer.getExplosionDamage();
-        
-        addEvent(new GameUpdateEvent(GameUpdateEvent.Type.IMPACT, ex, ey));
-        
-        // Damage adjacent entities
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx == 0 && dy == 0) continue;
-                
-                int tx = ex + dx;
-                int ty = ey + dy;
-                
-                if (!isValidPosition(tx, ty)) continue;
-                
-                // Damage player
-                if (player.getX() == tx && player.getY() == ty) {
-                    player.takeDamage(explosionDamage);
-                    addEvent(new GameUpdateEvent(
-                        GameUpdateEvent.Type.PLAYER_DAMAGE,
-                        tx, ty, player.getHealth()
-                    ));
-                    System.out.println("[EXPLOSION] Player hit by explosion!");
-                }
-                
-                // Damage other enemies
-                Enemy targetEnemy = findEnemyAt(tx, ty);
-                if (targetEnemy != null) {
-                    targetEnemy.takeDamage(explosionDamage);
-                    addEvent(new GameUpdateEvent(
-                        GameUpdateEvent.Type.DAMAGE,
-                        tx, ty, targetEnemy.getHp()
-                    ));
-                    System.out.println("[EXPLOSION] Enemy hit by explosion!");
-                }
-            }
-        }
-    }
-    
-    /**
-     * Moves enemy to new position.
-     */
-    private void moveEnemy(Enemy enemy, int newX, int newY) {
-        int oldX = enemy.getX();
-        int oldY = enemy.getY();
-        
-        entityGrid[oldX][oldY] = 0;
-        enemy.moveTo(newX, newY);
-        entityGrid[newX][newY] = 2;
-        
-        addEvent(new GameUpdateEvent(
-            GameUpdateEvent.Type.ENEMY_MOVE,
-            oldX, oldY, newX, newY, enemy.getHp()
-        ));
-        
-        // Check campfire damage
-        Obstacle obs = obstacleGrid[newX][newY];
-        if (obs != null && obs.isPassable() && obs.getPassDamage() > 0) {
-            enemy.takeDamage(obs.getPassDamage());
-            addEvent(new GameUpdateEvent(
-                GameUpdateEvent.Type.DAMAGE,
-                newX, newY, enemy.getHp()
-            ));
-        }
-        
-        // Check trap collision
-        checkTrapCollision(enemy, newX, newY);
-    }
-    
-    /**
-     * Checks trap collision for enemy.
-     */
-    private void checkTrapCollision(Enemy enemy, int x, int y) {
-        for (Trap trap : traps) {
-            if (trap.getX() == x && trap.getY() == y && trap.isActive()) {
-                enemy.takeDamage(trap.getDamage());
-                trap.trigger();
-                addEvent(new GameUpdateEvent(
-                    GameUpdateEvent.Type.DAMAGE,
-                    x, y, enemy.getHp()
-                ));
-                System.out.println("[TRAP] Enemy triggered trap at (" + x + "," + y + ")");
-            }
-        }
-    }
-    
-    /**
-     * Checks player environment damage.
-     */
-    private void checkEnvironmentDamage() {
-        int px = player.getX();
-        int py = player.getY();
-        
-        Obstacle obs = obstacleGrid[px][py];
-        if (obs != null && obs.isPassable() && obs.getPassDamage() > 0) {
-            player.takeDamage(obs.getPassDamage());
-            addEvent(new GameUpdateEvent(
-                GameUpdateEvent.Type.PLAYER_DAMAGE,
-                px, py, player.getHealth()
-            ));
-        }
-    }
-    
-    /**
-     * Player attempts move or push.
-     */
-    public boolean attemptMove(int dirX, int dirY) {
-        if (!player.isAlive()) return false;
-        
-        int targetX = player.getX() + dirX;
-        int targetY = player.getY() + dirY;
-        
-        if (!isValidPosition(targetX, targetY)) return false;
-        
-        int targetType = entityGrid[targetX][targetY];
-        
-        // Empty tile or passable obstacle
-        if (targetType == 0 || (isObstacleType(targetType) && 
-            obstacleGrid[targetX][targetY].isPassable())) {
-            movePlayer(targetX, targetY);
-            return true;
-        }
-        
-        // Impassable obstacle
-        if (isObstacleType(targetType) && !obstacleGrid[targetX][targetY].isPassable()) {
-            return false;
-        }
-        
-        // Enemy - push logic
-        if (targetType == 2) {
-            return handlePush(targetX, targetY, dirX, dirY);
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Handles push mechanics.
-     */
-    private boolean handlePush(int enemyX, int enemyY, int dirX, int dirY) {
-        int pushX = enemyX + dirX;
-        int pushY = enemyY + dirY;
-        
-        if (!isValidPosition(pushX, pushY)) return false;
-        
-        Enemy enemy = findEnemyAt(enemyX, enemyY);
-        if (enemy == null) return false;
-        
-        int pushType = entityGrid[pushX][pushY];
-        
-        // Push into empty or campfire
-        if (pushType == 0 || pushType == 4) {
-            moveEnemy(enemy, pushX, pushY);
-            return true;
-        }
-        
-        // Push into obstacle
-        if (isObstacleType(pushType)) {
-            Obstacle obs = obstacleGrid[pushX][pushY];
-            if (obs.isPassable()) {
-                moveEnemy(enemy, pushX, pushY);
-            } else {
-                // Collision damage
-                addEvent(new GameUpdateEvent(GameUpdateEvent.Type.IMPACT, pushX, pushY));
-                enemy.takeDamage(obs.getCollisionDamage());
-                addEvent(new GameUpdateEvent(
-                    GameUpdateEvent.Type.DAMAGE,
-                    enemyX, enemyY, enemy.getHp()
-                ));
-                System.out.println("[COLLISION] Enemy took " + obs.getCollisionDamage() + 
-                                 " collision damage!");
-            }
-            return true;
-        }
-        
-        // Push into another enemy (chain push)
-        if (pushType == 2) {
-            return attemptChainPush(pushX, pushY, dirX, dirY);
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Handles chain pushing.
-     */
-    private boolean attemptChainPush(int entityX, int entityY, int dirX, int dirY) {
-        int nextX = entityX + dirX;
-        int nextY = entityY + dirY;
-        
-        if (!isValidPosition(nextX, nextY)) return false;
-        
-        Enemy enemy = findEnemyAt(entityX, entityY);
-        if (enemy == null) return false;
-        
-        int nextType = entityGrid[nextX][nextY];
-        
-        if (nextType == 0 || nextType == 4) {
-            moveEnemy(enemy, nextX, nextY);
-            return true;
-        } else if (isObstacleType(nextType)) {
-            Obstacle obs = obstacleGrid[nextX][nextY];
-            if (obs.isPassable()) {
-                moveEnemy(enemy, nextX, nextY);
-                return true;
-            } else {
-                addEvent(new GameUpdateEvent(GameUpdateEvent.Type.IMPACT, nextX, nextY));
-                enemy.takeDamage(obs.getCollisionDamage());
-                addEvent(new GameUpdateEvent(
-                    GameUpdateEvent.Type.DAMAGE,
-                    entityX, entityY, enemy.getHp()
-                ));
-                return false;
-            }
-        } else if (nextType == 2) {
-            return attemptChainPush(nextX, nextY, dirX, dirY);
-        }
-        
-        return false;
-    }
-    
-    /**
-     * Moves player.
-     */
-    private void movePlayer(int newX, int newY) {
-        int oldX = player.getX();
-        int oldY = player.getY();
-        
-        player.moveTo(newX, newY);
-        addEvent(new GameUpdateEvent(
-            GameUpdateEvent.Type.PLAYER_MOVE,
-            oldX, oldY, newX, newY
-        ));
-    }
-    
-    /**
-     * Finds enemy at position.
-     */
-    public Enemy findEnemyAt(int x, int y) {
-        for (Enemy enemy : enemies) {
-            if (enemy.getX() == x && enemy.getY() == y && !enemy.isDead()) {
-                return enemy;
-            }
-        }
-        return null;
-    }
-    
-    /**
-     * Checks if position is valid.
-     */
-    private boolean isValidPosition(int x, int y) {
-        return x >= 0 && x < GRID_WIDTH && y >= 0 && y < GRID_HEIGHT;
-    }
-    
-    /**
-     * Checks if entity type is obstacle.
-     */
-    private boolean isObstacleType(int type) {
-        return type == 1 || type == 3 || type == 4;
-    }
-    
-    /**
-     * Adds event to queue.
-     */
-    private void addEvent(GameUpdateEvent event) {
-        String key = event.type.name() + event.newX + "," + event.newY;
-        
-        if (event.type == GameUpdateEvent.Type.IMPACT) {
-            key += "_" + System.nanoTime();
-        }
-        
-        pendingEvents.put(key, event);
-    }
-    
-    /**
-     * Flushes and returns pending events.
-     */
-    public List<GameUpdateEvent> flushEvents() {
-        List<GameUpdateEvent> events = new ArrayList<>(pendingEvents.values());
-        pendingEvents.clear();
-        
-        events.sort((a, b) -> Integer.compare(getPriority(a.type), getPriority(b.type)));
-        return events;
-    }
-    
-    private int getPriority(GameUpdateEvent.Type type) {
-        switch (type) {
-            case ENEMY_SPAWN: return 0;
-            case ENEMY_MOVE: return 1;
-            case DAMAGE: return 2;
-            case REMOVE_ENTITY: return 3;
-            case IMPACT: return 4;
-            case PLAYER_DAMAGE: return 5;
-            case PLAYER_MOVE: return 6;
-            default: return 99;
-        }
-    }
-    
-    // Getters
-    public Player getPlayer() { return player; }
-    public List<Enemy> getEnemies() { return enemies; }
-    public SpawnSystem getSpawnSystem() { return spawnSystem; }
-    public UpgradeManager getUpgradeManager() { return upgradeManager; }
-    public int getEntityAt(int x, int y) { return entityGrid[x][y]; }
-    public int getEnemyHealthAt(int x, int y) {
-        Enemy enemy = findEnemyAt(x, y);
-        return enemy != null ? enemy.getHp() : 0;
-    }
-    public boolean isLevelComplete() {
-        return spawnSystem.isLevelComplete();
-    }
-    public class GameUpdateEvent {
-
-        public static final String Type = null;
-    }
+package application;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Core game logic with integrated spawn system, enemy AI, and push mechanics.
+ */
+public class GameLogic {
+    // Grid dimensions
+    public static final int GRID_WIDTH = 20;
+    public static final int GRID_HEIGHT = 14;
+    
+    // Game entities
+    private Player player;
+    private List<Enemy> enemies;
+    private List<Trap> traps;
+    private int[][] entityGrid;
+    private Obstacle[][] obstacleGrid;
+    private Enemy[][] enemyGrid;         // Enemy occupying each cell, or null
+    private int aliveEnemies;            // Enemies in the list that are not dead
+    private LightMap lightMap;
+    private FieldOfView fieldOfView;     // Null unless fog of war is on
+    
+    // Systems
+    private Pathfinder pathfinder;
+    private SpawnSystem spawnSystem;
+    private UpgradeManager upgradeManager;
+    private ActionScheduler scheduler;
+    private TickWatchdog watchdog;
+    
+    // Enemies killed this tick, awaiting removal
+    private List<Enemy> pendingDeaths;
+    
+    // AI decision phase (reused between ticks)
+    private List<Enemy> dueEnemies;
+    private int[][] decisions;           // Chosen [dx, dy] per due enemy, or null
+    private int nextEnemyId;
+    private boolean deferFarReplans;     // Set per tick from the watchdog level
+    
+    // Per-thread pathfinder workspaces for the parallel decision phase
+    private static final ThreadLocal<Pathfinder> PATHFINDERS =
+        ThreadLocal.withInitial(Pathfinder::new);
+    private static final Comparator<Enemy> BY_ID =
+        (a, b) -> Integer.compare(a.getId(), b.getId());
+    
+    // Optional per-phase timing for the performance overlay
+    private PerfStats perfStats;
+    
+    // Optional telemetry journal (null unless recording)
+    private TelemetryJournal journal;
+    
+    // Render sync: cells changed since the renderer last drained them
+    private int[] dirtyCells;            // Cell indices (x * GRID_HEIGHT + y)
+    private boolean[] dirtyFlags;
+    private int dirtyCount;
+    
+    // Event handling
+    private static final int EVENT_CAPACITY = 64;     // Initial records per event type
+    private EventBus eventBus;
+    private EventBus tickEventBus;       // Flushed at the end of every tick, for event streams
+    private GameRandom random;
+    
+    // Lookahead (mutations are logged only while a lookahead is open)
+    private UndoLog undoLog;
+    private int lookaheadDepth;
+    
+    // Rewind history (null while disabled)
+    private RewindBuffer rewindBuffer;
+    private long[] frameState;           // Scratch for per-tick scalars
+    private boolean[] rewindTouched;     // Cells to refresh after a rewind, by cell index
+    private static final int FRAME_STATE_SIZE = 3 + SpawnSystem.STATE_SIZE;
+    
+    // Timing
+    private long lastUpdateTime;
+    private long accumulatedMillis;      // Wall-clock time not yet simulated
+    private long currentTick;            // Simulation ticks since start
+    private long waveStartTick;          // Tick the current wave started
+    private FlightEvents.Wave waveEvent; // Flight event of the current wave, or null
+    
+    // Process-wide metrics, shared by every game
+    private static final Metrics.Histogram TICK_TIME = Metrics.histogram(
+        "pkp_tick_seconds", "Time to simulate one tick", Metrics.LATENCY_BUCKETS);
+    private static final Metrics.Counter[] SPAWNS = Metrics.counters(
+        "pkp_enemy_spawns_total", "Enemies put on the board", "enemy_type", Enemy.EnemyType.class);
+    private static final Metrics.Counter[] DEATHS = Metrics.counters(
+        "pkp_enemy_deaths_total", "Enemies killed", "enemy_type", Enemy.EnemyType.class);
+    private static final Metrics.Histogram WAVE_DURATION = Metrics.histogram(
+        "pkp_wave_duration_seconds", "Simulated time from wave start to wave complete",
+        new double[] {10, 20, 30, 45, 60, 90, 120, 180, 300, 600});
+    
+    /**
+     * Creates game logic for specified level.
+     */
+    public GameLogic(int levelNumber) {
+        this(levelNumber, new Random().nextLong());
+    }
+    
+    /**
+     * Creates game logic for specified level with a fixed random seed,
+     * so the same seed and inputs reproduce the same game.
+     */
+    public GameLogic(int levelNumber, long seed) {
+        lastUpdateTime = System.currentTimeMillis();
+        currentTick = 0;
+        accumulatedMillis = 0;
+        enemies = new ArrayList<>();
+        traps = new ArrayList<>();
+        pendingDeaths = new ArrayList<>();
+        dueEnemies = new ArrayList<>();
+        decisions = new int[16][];
+        nextEnemyId = 1;
+        entityGrid = new int[GRID_WIDTH][GRID_HEIGHT];
+        obstacleGrid = new Obstacle[GRID_WIDTH][GRID_HEIGHT];
+        enemyGrid = new Enemy[GRID_WIDTH][GRID_HEIGHT];
+        dirtyCells = new int[GRID_WIDTH * GRID_HEIGHT];
+        dirtyFlags = new boolean[GRID_WIDTH * GRID_HEIGHT];
+        dirtyCount = 0;
+        eventBus = new EventBus(GRID_WIDTH, GRID_HEIGHT, EVENT_CAPACITY);
+        tickEventBus = new EventBus(GRID_WIDTH, GRID_HEIGHT, EVENT_CAPACITY, false);
+        random = new GameRandom(seed);
+        undoLog = new UndoLog();
+        lookaheadDepth = 0;
+        
+        pathfinder = new Pathfinder();
+        upgradeManager = new UpgradeManager();
+        scheduler = new ActionScheduler();
+        watchdog = new TickWatchdog(Constants.TICK_BUDGET_MS);
+        
+        initializeGrid();
+        lightMap = new LightMap(GRID_WIDTH, GRID_HEIGHT, Constants.AMBIENT_LIGHT, this::markDirty);
+        lightMap.rebuild(obstacleGrid);
+        initializeFieldOfView();
+        initializeSpawnSystem(levelNumber);
+    }
+    
+    /**
+     * Creates an independent copy of another game state. Grids and entities
+     * are copied directly instead of re-running level setup, and the
+     * schedule is rebuilt from each entity's next action tick.
+     */
+    private GameLogic(GameLogic other) {
+        lastUpdateTime = other.lastUpdateTime;
+        currentTick = other.currentTick;
+        waveStartTick = other.waveStartTick;
+        accumulatedMillis = other.accumulatedMillis;
+        nextEnemyId = other.nextEnemyId;
+        random = other.random.copy();
+        player = new Player(other.player);
+        
+        entityGrid = new int[GRID_WIDTH][];
+        obstacleGrid = new Obstacle[GRID_WIDTH][];
+        for (int x = 0; x < GRID_WIDTH; x++) {
+            entityGrid[x] = other.entityGrid[x].clone();
+            obstacleGrid[x] = other.obstacleGrid[x].clone(); // Obstacles are immutable
+        }
+        lightMap = new LightMap(other.lightMap, this::markDirty);
+        initializeFieldOfView();
+        
+        pathfinder = new Pathfinder();
+        spawnSystem = new SpawnSystem(other.spawnSystem);
+        upgradeManager = new UpgradeManager(other.upgradeManager);
+        scheduler = new ActionScheduler();
+        watchdog = new TickWatchdog(Constants.TICK_BUDGET_MS);
+        watchdog.setAdaptive(false);
+        undoLog = new UndoLog();
+        lookaheadDepth = 0;
+        
+        // Copy enemies, keeping track of which copy belongs to which original
+        Map<Enemy, Enemy> copies = new IdentityHashMap<>();
+        enemies = new ArrayList<>(other.enemies.size());
+        enemyGrid = new Enemy[GRID_WIDTH][GRID_HEIGHT];
+        for (Enemy enemy : other.enemies) {
+            Enemy copy = enemy.copy();
+            copies.put(enemy, copy);
+            enemies.add(copy);
+            if (other.enemyGrid[enemy.getX()][enemy.getY()] == enemy) {
+                enemyGrid[copy.getX()][copy.getY()] = copy;
+            }
+        }
+        aliveEnemies = other.aliveEnemies;
+        dirtyCells = new int[GRID_WIDTH * GRID_HEIGHT];
+        dirtyFlags = new boolean[GRID_WIDTH * GRID_HEIGHT];
+        dirtyCount = 0;
+        pendingDeaths = new ArrayList<>();
+        for (Enemy enemy : other.pendingDeaths) {
+            pendingDeaths.add(copies.get(enemy));
+        }
+        
+        traps = new ArrayList<>(other.traps.size());
+        for (Trap trap : other.traps) {
+            traps.add(trap.copy());
+        }
+        rebuildSchedule();
+        
+        dueEnemies = new ArrayList<>();
+        decisions = new int[16][];
+        eventBus = new EventBus(GRID_WIDTH, GRID_HEIGHT, EVENT_CAPACITY);
+        tickEventBus = new EventBus(GRID_WIDTH, GRID_HEIGHT, EVENT_CAPACITY, false);
+    }
+    
+    /**
+     * Creates an independent copy of this game state, e.g. to hand to a
+     * planner on another thread. Pending events and rewind history are not
+     * copied and the copy's watchdog is pinned at full detail. Must not be
+     * called while a lookahead is open.
+     */
+    public GameLogic copy() {
+        return new GameLogic(this);
+    }
+    
+    /**
+     * Initializes game grid with walls and obstacles.
+     */
+    private void initializeGrid() {
+        // Border walls
+        for (int x = 0; x < GRID_WIDTH; x++) {
+            placeObstacle(x, 0, new Wall());
+            placeObstacle(x, GRID_HEIGHT - 1, new Wall());
+        }
+        for (int y = 0; y < GRID_HEIGHT; y++) {
+            placeObstacle(0, y, new Wall());
+            placeObstacle(GRID_WIDTH - 1, y, new Wall());
+        }
+        
+        // Random interior obstacles
+        for (int x = 1; x < GRID_WIDTH - 1; x++) {
+            for (int y = 1; y < GRID_HEIGHT - 1; y++) {
+                // Skip center area for player spawn
+                if (x >= 8 && x <= 11 && y >= 5 && y <= 8) continue;
+                
+                if (entityGrid[x][y] == 0 && random.nextInt(100) < 12) {
+                    placeObstacle(x, y, createRandomObstacle());
+                }
+            }
+        }
+        
+        // Initialize player at center
+        player = new Player(10, 7);
+        
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.INIT, "Grid initialized, player at ({},{})",
+                    player.getX(), player.getY());
+    }
+    
+    /**
+     * Creates random obstacle type.
+     */
+    private Obstacle createRandomObstacle() {
+        int type = random.nextInt(3);
+        switch (type) {
+            case 0: return new Wall();
+            case 1: return new Spikes();
+            case 2: return new Campfire();
+            default: return new Wall();
+        }
+    }
+    
+    /**
+     * Places obstacle in grids.
+     */
+    private void placeObstacle(int x, int y, Obstacle obs) {
+        if (x >= 0 && x < GRID_WIDTH && y >= 0 && y < GRID_HEIGHT) {
+            entityGrid[x][y] = obs.getEntityType();
+            obstacleGrid[x][y] = obs;
+        }
+    }
+    
+    /**
+     * Sets up the player's field of view when fog of war is on.
+     */
+    private void initializeFieldOfView() {
+        if (Constants.FOG_OF_WAR) {
+            fieldOfView = new FieldOfView(GRID_WIDTH, GRID_HEIGHT, Constants.FOG_VIEW_RADIUS, this::markDirty);
+            fieldOfView.rebuild(obstacleGrid);
+        }
+    }
+    
+    /**
+     * Replaces the obstacle on a cell (null clears it) and relights the
+     * cells it affects. The cell shows the new obstacle unless an enemy
+     * stands on it.
+     */
+    public void setObstacle(int x, int y, Obstacle obstacle) {
+        if (!isValidPosition(x, y)) return;
+        
+        logChange(UndoLog.OBSTACLE, obstacleGrid[x][y], x, y, 0, 0);
+        obstacleGrid[x][y] = obstacle;
+        lightMap.setObstacle(x, y, obstacle);
+        if (fieldOfView != null) {
+            fieldOfView.setOpaque(x, y, obstacle != null && obstacle.blocksSight());
+        }
+        if (entityGrid[x][y] != 2) {
+            setCell(x, y, obstacle != null ? obstacle.getEntityType() : 0);
+        } else {
+            markDirty(x, y); // The static tile under the enemy changed
+        }
+    }
+    
+    /**
+     * Initializes spawn system.
+     */
+    private void initializeSpawnSystem(int levelNumber) {
+        List<SpawnSystem.SpawnPoint> spawnPoints = new ArrayList<>();
+        
+        // Add spawn points around edges
+        spawnPoints.add(new SpawnSystem.SpawnPoint(5, 2));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(15, 2));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(5, 11));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(15, 11));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(2, 7));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(17, 7));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(10, 2));
+        spawnPoints.add(new SpawnSystem.SpawnPoint(10, 11));
+        
+        GameRandom spawnRandom = new GameRandom(random.nextLong());
+        if (levelNumber == 0) {
+            spawnSystem = new SpawnSystem(spawnPoints, spawnRandom); // Endless mode
+        } else {
+            spawnSystem = new SpawnSystem(spawnPoints, levelNumber, spawnRandom);
+        }
+    }
+    
+    /**
+     * Main update loop, driven by wall-clock time. Runs as many fixed ticks
+     * as the elapsed time covers; this is the only place real time enters
+     * the simulation.
+     */
+    public void updateGame() {
+        long currentTime = System.currentTimeMillis();
+        accumulatedMillis += currentTime - lastUpdateTime;
+        lastUpdateTime = currentTime;
+        
+        int ticks = 0;
+        while (accumulatedMillis >= Constants.TICK_MILLIS && ticks < Constants.MAX_TICKS_PER_UPDATE) {
+            tick();
+            accumulatedMillis -= Constants.TICK_MILLIS;
+            ticks++;
+        }
+        
+        // Drop time we could not catch up on after a stall
+        if (ticks == Constants.MAX_TICKS_PER_UPDATE) {
+            accumulatedMillis = Math.min(accumulatedMillis, Constants.TICK_MILLIS);
+        }
+    }
+    
+    /**
+     * Fraction of the next tick covered by wall-clock time already
+     * accumulated, for interpolating rendering between ticks.
+     */
+    public double getTickAlpha() {
+        return Math.min(1.0, accumulatedMillis / (double) Constants.TICK_MILLIS);
+    }
+    
+    /**
+     * Advances the simulation by exactly one tick. Headless callers
+     * (e.g. SimulationFarm) drive the game through this directly; the same
+     * seed and inputs always produce the same state.
+     */
+    public void tick() {
+        FlightEvents.Tick event = new FlightEvents.Tick();
+        event.begin();
+        long tickStart = System.nanoTime();
+        if (rewindBuffer != null) {
+            saveFrameState();
+            rewindBuffer.beginFrame(frameState);
+        }
+        currentTick++;
+        if (journal != null) {
+            journal.setTick(currentTick);
+        }
+        long phaseStart = perfStats != null ? tickStart : 0;
+        
+        // Update player
+        player.tick();
+        phaseStart = endPhase(PerfStats.PHASE_PLAYER, phaseStart);
+        
+        // Wake enemies and traps whose next action is due
+        phaseStart = runScheduledActions(phaseStart);
+        
+        // Remove dead enemies and handle explosions
+        processDeaths();
+        phaseStart = endPhase(PerfStats.PHASE_AI, phaseStart);
+        
+        // Update spawn system
+        int waveBefore = spawnSystem.getCurrentWave();
+        boolean waveWasActive = spawnSystem.isWaveActive();
+        Enemy newEnemy = spawnSystem.update(enemies.size(), entityGrid);
+        if (newEnemy != null) {
+            addEnemy(newEnemy);
+        }
+        if (spawnSystem.getCurrentWave() != waveBefore || spawnSystem.isWaveActive() != waveWasActive) {
+            handleWaveChange(waveBefore, waveWasActive);
+        }
+        phaseStart = endPhase(PerfStats.PHASE_SPAWN, phaseStart);
+        
+        // Check player environment damage
+        checkEnvironmentDamage();
+        endPhase(PerfStats.PHASE_ENVIRONMENT, phaseStart);
+        
+        long tickNanos = System.nanoTime() - tickStart;
+        watchdog.recordTick(tickNanos);
+        TICK_TIME.record(tickNanos);
+        if (perfStats != null) {
+            perfStats.endTick();
+        }
+        if (journal != null) {
+            journal.commitTick();
+        }
+        tickEventBus.flush();
+        if (event.shouldCommit()) {
+            event.tick = currentTick;
+            event.aliveEnemies = aliveEnemies;
+            event.watchdogLevel = watchdog.getLevel().name();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Times and journals a wave that started or ended during the spawn phase.
+     */
+    private void handleWaveChange(int waveBefore, boolean waveWasActive) {
+        if (waveWasActive && !spawnSystem.isWaveActive()) {
+            long ticks = currentTick - waveStartTick;
+            if (ticks >= 0) { // A rewind may have crossed the wave start
+                WAVE_DURATION.record(ticks * Constants.TICK_MILLIS * 1_000_000L);
+            }
+            if (waveEvent != null && waveEvent.shouldCommit()) {
+                waveEvent.endTick = currentTick;
+                waveEvent.commit();
+            }
+            waveEvent = null;
+            if (journal != null) {
+                journal.recordWaveComplete(waveBefore, spawnSystem.getEnemiesDefeated());
+            }
+        }
+        if (spawnSystem.isWaveActive()
+                && (!waveWasActive || spawnSystem.getCurrentWave() != waveBefore)) {
+            waveStartTick = currentTick;
+            waveEvent = new FlightEvents.Wave();
+            waveEvent.wave = spawnSystem.getCurrentWave();
+            waveEvent.enemies = spawnSystem.getEnemiesPerWave();
+            waveEvent.startTick = currentTick;
+            waveEvent.begin();
+            if (journal != null) {
+                journal.recordWaveStart(spawnSystem.getCurrentWave(), spawnSystem.getEnemiesPerWave());
+            }
+        }
+    }
+    
+    /**
+     * Checks if changes should go to the telemetry journal. Hypothetical
+     * lookahead moves are never journaled.
+     */
+    private boolean isJournaling() {
+        return journal != null && lookaheadDepth == 0;
+    }
+    
+    /**
+     * Charges time since phaseStart to a tick phase when stats are on.
+     * @return Start time of the next phase
+     */
+    private long endPhase(int phase, long phaseStart) {
+        if (perfStats == null) return 0;
+        long now = System.nanoTime();
+        perfStats.addPhaseNanos(phase, now - phaseStart);
+        return now;
+    }
+    
+    /**
+     * Puts a new enemy on the board and schedules its first action.
+     */
+    private void addEnemy(Enemy enemy) {
+        enemy.setId(nextEnemyId++);
+        enemies.add(enemy);
+        logChange(UndoLog.ENEMY_ADDED, enemy, enemies.size() - 1, 0, 0, 0);
+        enemyGrid[enemy.getX()][enemy.getY()] = enemy;
+        aliveEnemies++;
+        setCell(enemy.getX(), enemy.getY(), 2);
+        scheduleEnemy(enemy, currentTick + 1);
+        SPAWNS[enemy.getType().ordinal()].increment();
+        if (isJournaling()) {
+            journal.recordSpawn(enemy);
+        }
+        addEvent(
+            GameUpdateEvent.Type.ENEMY_SPAWN,
+            enemy.getX(), enemy.getY(), enemy.getHp()
+        );
+    }
+    
+    /**
+     * Spawns an enemy outside the wave schedule (benchmarks, tools).
+     * @return The enemy, or null if the cell is not empty
+     */
+    public Enemy spawnEnemy(Enemy.EnemyType type, int x, int y) {
+        if (!isValidPosition(x, y) || entityGrid[x][y] != 0
+                || (player.getX() == x && player.getY() == y)) {
+            return null;
+        }
+        Enemy enemy = SpawnSystem.createEnemy(x, y, type);
+        addEnemy(enemy);
+        return enemy;
+    }
+    
+    /**
+     * Kills the enemy on a cell at once, resolving any explosion chain
+     * (benchmarks, tools).
+     * @return True if there was a live enemy
+     */
+    public boolean destroyEnemyAt(int x, int y) {
+        Enemy enemy = findEnemyAt(x, y);
+        if (enemy == null) return false;
+        damageEnemy(enemy, enemy.getHp());
+        processDeaths();
+        return true;
+    }
+    
+    /**
+     * Wakes every scheduled enemy and trap that is due this tick.
+     * Waking traps counts as the trap phase, enemy actions as AI.
+     * @return Start time of the next phase
+     */
+    private long runScheduledActions(long phaseStart) {
+        Object target;
+        while ((target = scheduler.pollDue(currentTick)) != null) {
+            if (target instanceof Enemy) {
+                Enemy enemy = (Enemy) target;
+                // Dead enemies simply drop out of the schedule
+                if (!enemy.isDead()) {
+                    dueEnemies.add(enemy);
+                }
+            } else if (target instanceof Trap) {
+                Trap trap = (Trap) target;
+                logChange(UndoLog.TRAP_STATE, trap, trap.isActive() ? 1 : 0, 0, 0, trap.getRearmTick());
+                trap.rearm(currentTick);
+            }
+        }
+        
+        phaseStart = endPhase(PerfStats.PHASE_TRAPS, phaseStart);
+        
+        if (!dueEnemies.isEmpty()) {
+            updateEnemyAI();
+            dueEnemies.clear();
+        }
+        return phaseStart;
+    }
+    
+    /**
+     * Schedules an enemy's next action.
+     */
+    private void scheduleEnemy(Enemy enemy, long tick) {
+        logChange(UndoLog.ENEMY_SCHEDULE, enemy, 0, 0, 0, enemy.getNextActionTick());
+        enemy.setNextActionTick(tick);
+        scheduler.schedule(tick, enemy);
+    }
+    
+    /**
+     * Runs one action for every due enemy in two phases. The decision phase
+     * is read-only against the grid, which stays frozen until it finishes,
+     * and forks across the ForkJoin pool for large waves. The commit phase
+     * then applies the moves serially in enemy id order, so conflicting
+     * moves resolve identically run to run.
+     */
+    private void updateEnemyAI() {
+        int count = dueEnemies.size();
+        dueEnemies.sort(BY_ID);
+        
+        if (decisions.length < count) {
+            decisions = new int[Math.max(count, decisions.length * 2)][];
+        }
+        
+        // Decision phase
+        deferFarReplans = watchdog.isAtLeast(TickWatchdog.Level.DEFER_FAR_REPLANS);
+        if (count >= Constants.PARALLEL_AI_THRESHOLD) {
+            ForkJoinPool.commonPool().invoke(new DecisionTask(0, count));
+        } else {
+            decideMoves(0, count, pathfinder);
+        }
+        
+        // Commit phase
+        for (int i = 0; i < count; i++) {
+            Enemy enemy = dueEnemies.get(i);
+            int[] move = decisions[i];
+            decisions[i] = null;
+            
+            // May have been killed by an earlier commit (e.g. an explosion)
+            if (enemy.isDead()) continue;
+            
+            scheduleEnemy(enemy, currentTick + enemy.getActionIntervalTicks());
+            
+            // Check if adjacent to player (attack range)
+            if (enemy.canAttackPlayer(player.getX(), player.getY())) {
+                damagePlayer(enemy.getDamage());
+                addEvent(
+                    GameUpdateEvent.Type.PLAYER_DAMAGE,
+                    player.getX(), player.getY(), player.getHealth()
+                );
+                GameLog.log(GameLog.Level.DEBUG, GameLog.Category.COMBAT, "{} attacked player! Player HP: {}",
+                            enemy.getType(), player.getHealth());
+                continue;
+            }
+            
+            if (move != null) {
+                int targetX = enemy.getX() + move[0];
+                int targetY = enemy.getY() + move[1];
+                
+                // Validate and execute move; the first enemy to claim a cell wins
+                if (isValidPosition(targetX, targetY)) {
+                    int targetType = entityGrid[targetX][targetY];
+                    
+                    // Move to empty or passable obstacle
+                    if (targetType == 0 || targetType == 4) {
+                        moveEnemy(enemy, targetX, targetY);
+                        enemy.setLastMove(move);
+                        continue;
+                    }
+                }
+            }
+            
+            // Blocked or idle: force a fresh path search next time
+            enemy.setLastMove(null);
+        }
+    }
+    
+    /**
+     * Decides moves for due enemies in [from, to). Must not mutate game state.
+     */
+    private void decideMoves(int from, int to, Pathfinder finder) {
+        int playerX = player.getX();
+        int playerY = player.getY();
+        
+        for (int i = from; i < to; i++) {
+            Enemy enemy = dueEnemies.get(i);
+            
+            // Adjacent enemies attack instead of moving
+            if (enemy.canAttackPlayer(playerX, playerY)) {
+                decisions[i] = null;
+            } else if (deferFarReplans && enemy.getLastMove() != null
+                       && Math.abs(enemy.getX() - playerX) + Math.abs(enemy.getY() - playerY)
+                          > Constants.FAR_ENEMY_DISTANCE) {
+                // Over budget: keep walking the last direction instead of re-pathing
+                decisions[i] = enemy.getLastMove();
+            } else {
+                decisions[i] = enemy.updateAI(playerX, playerY, finder, entityGrid);
+            }
+        }
+    }
+    
+    /**
+     * Fork/join task splitting the decision phase into chunks.
+     */
+    private class DecisionTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int CHUNK_SIZE = 8;
+        private final int from, to;
+        
+        DecisionTask(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from <= CHUNK_SIZE) {
+                decideMoves(from, to, PATHFINDERS.get());
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new DecisionTask(from, mid), new DecisionTask(mid, to));
+        }
+    }
+    
+    /**
+     * Applies damage to an enemy and queues it for removal if it died.
+     */
+    private void damageEnemy(Enemy enemy, int damage) {
+        boolean wasDead = enemy.isDead();
+        logChange(UndoLog.ENEMY_HEALTH, enemy, enemy.getHp(), wasDead ? 1 : 0, 0, 0);
+        enemy.takeDamage(damage);
+        markDirty(enemy.getX(), enemy.getY());
+        if (isJournaling()) {
+            journal.recordEnemyDamage(enemy, damage);
+        }
+        if (!wasDead && enemy.isDead()) {
+            aliveEnemies--;
+            logChange(UndoLog.PENDING_DEATH, enemy, 0, 0, 0, 0);
+            pendingDeaths.add(enemy);
+        }
+    }
+    
+    /**
+     * Applies damage to the player.
+     */
+    private void damagePlayer(int damage) {
+        logChange(UndoLog.PLAYER_HEALTH, null, player.getHealth(),
+                  player.isAlive() ? 1 : 0, player.getDamageTaken(), 0);
+        boolean wasAlive = player.isAlive();
+        player.takeDamage(damage);
+        markDirty(player.getX(), player.getY());
+        if (isJournaling()) {
+            journal.recordPlayerDamage(player, damage);
+            if (wasAlive && !player.isAlive()) {
+                journal.recordPlayerDeath(player);
+            }
+        }
+    }
+    
+    /**
+     * Removes enemies killed this tick. Explosions may append further
+     * deaths, which are resolved in the same pass.
+     */
+    private void processDeaths() {
+        if (pendingDeaths.isEmpty()) return;
+        
+        for (int i = 0; i < pendingDeaths.size(); i++) {
+            handleEnemyDeath(pendingDeaths.get(i));
+        }
+        
+        // Back to front, so each logged index is also the index to restore at
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isDead()) {
+                logChange(UndoLog.ENEMY_REMOVED, enemy, i, 0, 0, 0);
+                enemies.remove(i);
+            }
+        }
+        for (Enemy enemy : pendingDeaths) {
+            logChange(UndoLog.PENDING_CLEARED, enemy, 0, 0, 0, 0);
+        }
+        pendingDeaths.clear();
+    }
+    
+    /**
+     * Handles enemy death and special effects (explosions).
+     */
+    private void handleEnemyDeath(Enemy enemy) {
+        int x = enemy.getX();
+        int y = enemy.getY();
+        
+        if (lookaheadDepth == 0) {
+            DEATHS[enemy.getType().ordinal()].increment();
+        }
+        if (isJournaling()) {
+            journal.recordEnemyDeath(enemy);
+        }
+        
+        // Clear from grid
+        setCell(x, y, 0);
+        if (enemyGrid[x][y] == enemy) {
+            enemyGrid[x][y] = null;
+        }
+        
+        // Handle Boomer Goblin explosion
+        if (enemy instanceof BoomerGoblin) {
+            BoomerGoblin boomer = (BoomerGoblin) enemy;
+            handleExplosion(boomer);
+        }
+        
+        spawnSystem.onEnemyDefeated();
+        addEvent(GameUpdateEvent.Type.REMOVE_ENTITY, x, y);
+    }
+    
+    /**
+     * Handles Boomer Goblin explosion damage.
+     */
+    private void handleExplosion(BoomerGoblin boomer) {
+        int ex = boomer.getX();
+        int ey = boomer.getY();
+        int explosionDamage = boomer.getExplosionDamage();
+        
+        addEvent(GameUpdateEvent.Type.IMPACT, ex, ey);
+        
+        // Damage adjacent entities
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (dx == 0 && dy == 0) continue;
+                
+                int tx = ex + dx;
+                int ty = ey + dy;
+                
+                if (!isValidPosition(tx, ty)) continue;
+                
+                // Damage player
+                if (player.getX() == tx && player.getY() == ty) {
+                    damagePlayer(explosionDamage);
+                    addEvent(
+                        GameUpdateEvent.Type.PLAYER_DAMAGE,
+                        tx, ty, player.getHealth()
+                    );
+                    GameLog.log(GameLog.Level.DEBUG, GameLog.Category.EXPLOSION, "Player hit by explosion!");
+                }
+                
+                // Damage other enemies
+                Enemy targetEnemy = findEnemyAt(tx, ty);
+                if (targetEnemy != null) {
+                    damageEnemy(targetEnemy, explosionDamage);
+                    addEvent(
+                        GameUpdateEvent.Type.DAMAGE,
+                        tx, ty, targetEnemy.getHp()
+                    );
+                    GameLog.log(GameLog.Level.DEBUG, GameLog.Category.EXPLOSION, "Enemy hit by explosion!");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Moves enemy to new position.
+     */
+    private void moveEnemy(Enemy enemy, int newX, int newY) {
+        int oldX = enemy.getX();
+        int oldY = enemy.getY();
+        
+        setCell(oldX, oldY, 0);
+        logChange(UndoLog.ENEMY_POSITION, enemy, oldX, oldY, 0, 0);
+        enemyGrid[oldX][oldY] = null;
+        enemy.moveTo(newX, newY);
+        enemyGrid[newX][newY] = enemy;
+        setCell(newX, newY, 2);
+        
+        addEvent(
+            GameUpdateEvent.Type.ENEMY_MOVE,
+            oldX, oldY, newX, newY, enemy.getHp()
+        );
+        
+        // Check campfire damage
+        Obstacle obs = obstacleGrid[newX][newY];
+        if (obs != null && obs.isPassable() && obs.getPassDamage() > 0) {
+            damageEnemy(enemy, obs.getPassDamage());
+            addEvent(
+                GameUpdateEvent.Type.DAMAGE,
+                newX, newY, enemy.getHp()
+            );
+        }
+        
+        // Check trap collision
+        checkTrapCollision(enemy, newX, newY);
+    }
+    
+    /**
+     * Checks trap collision for enemy.
+     */
+    private void checkTrapCollision(Enemy enemy, int x, int y) {
+        for (Trap trap : traps) {
+            if (trap.getX() == x && trap.getY() == y && trap.isActive()) {
+                damageEnemy(enemy, trap.getDamage());
+                logChange(UndoLog.TRAP_STATE, trap, 1, 0, 0, trap.getRearmTick());
+                trap.trigger(currentTick);
+                if (trap.isPersistent()) {
+                    scheduler.schedule(currentTick + trap.getRearmTicks(), trap);
+                }
+                addEvent(
+                    GameUpdateEvent.Type.DAMAGE,
+                    x, y, enemy.getHp()
+                );
+                GameLog.log(GameLog.Level.DEBUG, GameLog.Category.TRAP, "Enemy triggered trap at ({},{})", x, y);
+            }
+        }
+    }
+    
+    /**
+     * Checks player environment damage.
+     */
+    private void checkEnvironmentDamage() {
+        int px = player.getX();
+        int py = player.getY();
+        
+        Obstacle obs = obstacleGrid[px][py];
+        if (obs != null && obs.isPassable() && obs.getPassDamage() > 0) {
+            damagePlayer(obs.getPassDamage());
+            addEvent(
+                GameUpdateEvent.Type.PLAYER_DAMAGE,
+                px, py, player.getHealth()
+            );
+        }
+    }
+    
+    /**
+     * Player attempts move or push.
+     */
+    public boolean attemptMove(int dirX, int dirY) {
+        if (!player.isAlive()) return false;
+        
+        int targetX = player.getX() + dirX;
+        int targetY = player.getY() + dirY;
+        
+        if (!isValidPosition(targetX, targetY)) return false;
+        
+        int targetType = entityGrid[targetX][targetY];
+        
+        // Empty tile or passable obstacle
+        if (targetType == 0 || (isObstacleType(targetType) && 
+            obstacleGrid[targetX][targetY].isPassable())) {
+            movePlayer(targetX, targetY);
+            return true;
+        }
+        
+        // Impassable obstacle
+        if (isObstacleType(targetType) && !obstacleGrid[targetX][targetY].isPassable()) {
+            return false;
+        }
+        
+        // Enemy - push logic
+        if (targetType == 2) {
+            return handlePush(targetX, targetY, dirX, dirY);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Handles push mechanics.
+     */
+    private boolean handlePush(int enemyX, int enemyY, int dirX, int dirY) {
+        int pushX = enemyX + dirX;
+        int pushY = enemyY + dirY;
+        
+        if (!isValidPosition(pushX, pushY)) return false;
+        
+        Enemy enemy = findEnemyAt(enemyX, enemyY);
+        if (enemy == null) return false;
+        
+        int pushType = entityGrid[pushX][pushY];
+        
+        // Push into empty or campfire
+        if (pushType == 0 || pushType == 4) {
+            moveEnemy(enemy, pushX, pushY);
+            return true;
+        }
+        
+        // Push into obstacle
+        if (isObstacleType(pushType)) {
+            Obstacle obs = obstacleGrid[pushX][pushY];
+            if (obs.isPassable()) {
+                moveEnemy(enemy, pushX, pushY);
+            } else {
+                // Collision damage
+                addEvent(GameUpdateEvent.Type.IMPACT, pushX, pushY);
+                damageEnemy(enemy, obs.getCollisionDamage());
+                addEvent(
+                    GameUpdateEvent.Type.DAMAGE,
+                    enemyX, enemyY, enemy.getHp()
+                );
+                GameLog.log(GameLog.Level.DEBUG, GameLog.Category.COLLISION, "Enemy took {} collision damage!",
+                            obs.getCollisionDamage());
+            }
+            return true;
+        }
+        
+        // Push into another enemy (chain push)
+        if (pushType == 2) {
+            return attemptChainPush(pushX, pushY, dirX, dirY);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Handles chain pushing.
+     */
+    private boolean attemptChainPush(int entityX, int entityY, int dirX, int dirY) {
+        int nextX = entityX + dirX;
+        int nextY = entityY + dirY;
+        
+        if (!isValidPosition(nextX, nextY)) return false;
+        
+        Enemy enemy = findEnemyAt(entityX, entityY);
+        if (enemy == null) return false;
+        
+        int nextType = entityGrid[nextX][nextY];
+        
+        if (nextType == 0 || nextType == 4) {
+            moveEnemy(enemy, nextX, nextY);
+            return true;
+        } else if (isObstacleType(nextType)) {
+            Obstacle obs = obstacleGrid[nextX][nextY];
+            if (obs.isPassable()) {
+                moveEnemy(enemy, nextX, nextY);
+                return true;
+            } else {
+                addEvent(GameUpdateEvent.Type.IMPACT, nextX, nextY);
+                damageEnemy(enemy, obs.getCollisionDamage());
+                addEvent(
+                    GameUpdateEvent.Type.DAMAGE,
+                    entityX, entityY, enemy.getHp()
+                );
+                return false;
+            }
+        } else if (nextType == 2) {
+            return attemptChainPush(nextX, nextY, dirX, dirY);
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Moves player.
+     */
+    private void movePlayer(int newX, int newY) {
+        int oldX = player.getX();
+        int oldY = player.getY();
+        
+        logChange(UndoLog.PLAYER_POSITION, null, oldX, oldY, 0, 0);
+        player.moveTo(newX, newY);
+        markDirty(oldX, oldY);
+        markDirty(newX, newY);
+        addEvent(
+            GameUpdateEvent.Type.PLAYER_MOVE,
+            oldX, oldY, newX, newY
+        );
+    }
+    
+    /**
+     * Writes a grid cell, logging the old value during lookahead.
+     */
+    private void setCell(int x, int y, int type) {
+        logChange(UndoLog.CELL, null, x, y, entityGrid[x][y], 0);
+        entityGrid[x][y] = type;
+        markDirty(x, y);
+    }
+    
+    /**
+     * Adds a cell to the set the renderer redraws.
+     */
+    private void markDirty(int x, int y) {
+        int cell = x * GRID_HEIGHT + y;
+        if (!dirtyFlags[cell]) {
+            dirtyFlags[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+    
+    /**
+     * Records a change about to be made: to the undo log during lookahead,
+     * otherwise to the rewind history when it is enabled.
+     */
+    private void logChange(int kind, Object ref, int a, int b, int c, long d) {
+        if (lookaheadDepth > 0) {
+            undoLog.record(kind, ref, a, b, c, d);
+        } else if (rewindBuffer != null) {
+            rewindBuffer.record(kind, ref, a, b, c, d);
+        }
+    }
+    
+    /**
+     * Reverts one logged change.
+     */
+    private void undoChange(int kind, Object ref, int a, int b, int c, long d) {
+        switch (kind) {
+            case UndoLog.CELL:
+                entityGrid[a][b] = c;
+                markDirty(a, b);
+                break;
+            case UndoLog.ENEMY_POSITION: {
+                Enemy enemy = (Enemy) ref;
+                if (enemyGrid[enemy.getX()][enemy.getY()] == enemy) {
+                    enemyGrid[enemy.getX()][enemy.getY()] = null;
+                }
+                enemy.moveTo(a, b);
+                enemyGrid[a][b] = enemy;
+                break;
+            }
+            case UndoLog.ENEMY_HEALTH: {
+                Enemy enemy = (Enemy) ref;
+                boolean wasDead = enemy.isDead();
+                enemy.restoreHealth(a, b != 0);
+                if (wasDead && !enemy.isDead()) {
+                    enemyGrid[enemy.getX()][enemy.getY()] = enemy; // Revived
+                    aliveEnemies++;
+                }
+                markDirty(enemy.getX(), enemy.getY());
+                break;
+            }
+            case UndoLog.PLAYER_POSITION:
+                markDirty(player.getX(), player.getY());
+                player.moveTo(a, b);
+                markDirty(a, b);
+                break;
+            case UndoLog.PLAYER_HEALTH:
+                player.restoreHealth(a, b != 0, c);
+                break;
+            case UndoLog.PENDING_DEATH:
+                pendingDeaths.remove(pendingDeaths.size() - 1);
+                break;
+            case UndoLog.TRAP_STATE:
+                ((Trap) ref).restoreState(a != 0, d);
+                break;
+            case UndoLog.ENEMY_ADDED: {
+                Enemy enemy = enemies.remove(a);
+                if (enemyGrid[enemy.getX()][enemy.getY()] == enemy) {
+                    enemyGrid[enemy.getX()][enemy.getY()] = null;
+                }
+                if (!enemy.isDead()) {
+                    aliveEnemies--;
+                }
+                break;
+            }
+            case UndoLog.ENEMY_REMOVED:
+                enemies.add(a, (Enemy) ref);
+                break;
+            case UndoLog.ENEMY_SCHEDULE:
+                ((Enemy) ref).setNextActionTick(d);
+                break;
+            case UndoLog.PENDING_CLEARED:
+                pendingDeaths.add(0, (Enemy) ref);
+                break;
+            case UndoLog.OBSTACLE:
+                obstacleGrid[a][b] = (Obstacle) ref;
+                lightMap.setObstacle(a, b, (Obstacle) ref);
+                if (fieldOfView != null) {
+                    fieldOfView.setOpaque(a, b, ref != null && ((Obstacle) ref).blocksSight());
+                }
+                markDirty(a, b);
+                break;
+        }
+    }
+    
+    /**
+     * Rebuilds the action schedule from each entity's next action tick.
+     */
+    private void rebuildSchedule() {
+        scheduler.clear();
+        for (Enemy enemy : enemies) {
+            if (!enemy.isDead()) {
+                scheduler.schedule(enemy.getNextActionTick(), enemy);
+            }
+        }
+        for (Trap trap : traps) {
+            if (trap.isPersistent() && !trap.isActive()) {
+                scheduler.schedule(trap.getRearmTick(), trap);
+            }
+        }
+    }
+    
+    // ==================== LOOKAHEAD ====================
+    
+    /**
+     * Opens a lookahead. Until it is rolled back or ended, every mutation made
+     * by player moves, pushes, enemy moves and damage is logged, and no
+     * events are emitted. Lookaheads nest.
+     * Only player actions (attemptMove) may run inside a lookahead; use
+     * copy() to simulate whole ticks.
+     * @return Mark to pass to rollback or endLookahead
+     */
+    public int beginLookahead() {
+        lookaheadDepth++;
+        return undoLog.size();
+    }
+    
+    /**
+     * Reverts every change made since the mark and closes the lookahead.
+     * Costs time proportional to the number of changes.
+     */
+    public void rollback(int mark) {
+        for (int i = undoLog.size() - 1; i >= mark; i--) {
+            undoChange(undoLog.kind(i), undoLog.ref(i), undoLog.a(i),
+                       undoLog.b(i), undoLog.c(i), undoLog.d(i));
+        }
+        undoLog.truncate(mark);
+        lookaheadDepth--;
+    }
+    
+    /**
+     * Closes a lookahead and keeps its changes. Inside an outer lookahead the
+     * changes stay logged so the outer rollback still reverts them.
+     */
+    public void endLookahead(int mark) {
+        lookaheadDepth--;
+        if (lookaheadDepth == 0) {
+            // Kept changes become part of the rewind history
+            if (rewindBuffer != null) {
+                for (int i = mark; i < undoLog.size(); i++) {
+                    rewindBuffer.record(undoLog.kind(i), undoLog.ref(i), undoLog.a(i),
+                                        undoLog.b(i), undoLog.c(i), undoLog.d(i));
+                }
+            }
+            undoLog.truncate(mark);
+        }
+    }
+    
+    /**
+     * Checks if a lookahead is open.
+     */
+    public boolean isInLookahead() {
+        return lookaheadDepth > 0;
+    }
+    
+    // ==================== REWIND ====================
+    
+    /**
+     * Enables or disables the rewind history. Enabling starts with an empty
+     * history holding up to the given number of ticks.
+     */
+    public void setRewindEnabled(boolean enabled, int maxTicks) {
+        if (enabled) {
+            rewindBuffer = new RewindBuffer(maxTicks, Constants.REWIND_RECORD_CAPACITY, FRAME_STATE_SIZE);
+            frameState = new long[FRAME_STATE_SIZE];
+            rewindTouched = new boolean[GRID_WIDTH * GRID_HEIGHT];
+        } else {
+            rewindBuffer = null;
+        }
+    }
+    
+    /**
+     * Rewinds the simulation by walking recorded ticks backwards, then queues
+     * refresh events for every cell the undone ticks touched.
+     * @return Number of ticks actually rewound
+     */
+    public int rewind(int ticks) {
+        if (rewindBuffer == null || lookaheadDepth > 0) return 0;
+        
+        int oldPlayerX = player.getX();
+        int oldPlayerY = player.getY();
+        int rewound = 0;
+        
+        while (rewound < ticks && rewindBuffer.getFrameCount() > 0) {
+            for (long pos = rewindBuffer.end() - 1; pos >= rewindBuffer.newestFrameStart(); pos--) {
+                int kind = rewindBuffer.kind(pos);
+                Object ref = rewindBuffer.ref(pos);
+                int a = rewindBuffer.a(pos);
+                int b = rewindBuffer.b(pos);
+                
+                if (kind == UndoLog.CELL || kind == UndoLog.OBSTACLE) {
+                    rewindTouched[a * GRID_HEIGHT + b] = true;
+                } else if (kind == UndoLog.ENEMY_HEALTH) {
+                    Enemy enemy = (Enemy) ref;
+                    rewindTouched[enemy.getX() * GRID_HEIGHT + enemy.getY()] = true;
+                }
+                undoChange(kind, ref, a, b, rewindBuffer.c(pos), rewindBuffer.d(pos));
+            }
+            rewindBuffer.popFrame(frameState);
+            restoreFrameState();
+            rewound++;
+        }
+        if (rewound == 0) return 0;
+        
+        rebuildSchedule();
+        for (Enemy enemy : enemies) {
+            enemy.setLastMove(null); // Replan from the restored positions
+        }
+        
+        // Events queued for the undone ticks no longer apply
+        eventBus.clear();
+        rewindTouched[oldPlayerX * GRID_HEIGHT + oldPlayerY] = true;
+        for (int cell = 0; cell < rewindTouched.length; cell++) {
+            if (!rewindTouched[cell]) continue;
+            rewindTouched[cell] = false;
+            
+            int x = cell / GRID_HEIGHT;
+            int y = cell % GRID_HEIGHT;
+            if (entityGrid[x][y] == 2) {
+                addEvent(GameUpdateEvent.Type.ENEMY_SPAWN, x, y, getEnemyHealthAt(x, y));
+            } else {
+                addEvent(GameUpdateEvent.Type.REMOVE_ENTITY, x, y);
+            }
+        }
+        // Redraws the player (and hearts) after the cell refreshes
+        addEvent(
+            GameUpdateEvent.Type.PLAYER_MOVE,
+            player.getX(), player.getY(), player.getX(), player.getY()
+        );
+        
+        // The refreshes above only repaint the view; tick consumers get a
+        // single marker instead, so they are not mistaken for gameplay
+        tickEventBus.clear();
+        if (tickEventBus.isSubscribed(GameUpdateEvent.Type.REWIND)) {
+            tickEventBus.publish(GameUpdateEvent.Type.REWIND, 0, 0,
+                                 player.getX(), player.getY(), rewound, false);
+        }
+        
+        if (journal != null) {
+            journal.setTick(currentTick);
+            journal.recordRewind(rewound);
+        }
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.REWIND, "Rewound {} ticks to tick {}", rewound, currentTick);
+        return rewound;
+    }
+    
+    /**
+     * Captures the per-tick scalars that are not covered by change records.
+     */
+    private void saveFrameState() {
+        frameState[0] = currentTick;
+        frameState[1] = nextEnemyId;
+        frameState[2] = player.getPushCooldownTicks();
+        spawnSystem.saveState(frameState, 3);
+    }
+    
+    private void restoreFrameState() {
+        currentTick = frameState[0];
+        nextEnemyId = (int) frameState[1];
+        player.setPushCooldownTicks((int) frameState[2]);
+        spawnSystem.restoreState(frameState, 3);
+    }
+    
+    /**
+     * Finds enemy at position.
+     */
+    public Enemy findEnemyAt(int x, int y) {
+        Enemy enemy = enemyGrid[x][y];
+        return enemy != null && !enemy.isDead() ? enemy : null;
+    }
+    
+    // ==================== RENDER SYNC ====================
+    
+    /**
+     * Number of cells changed since the last clearDirtyCells.
+     */
+    public int getDirtyCellCount() {
+        return dirtyCount;
+    }
+    
+    /**
+     * Gets a changed cell as an index (x * GRID_HEIGHT + y).
+     */
+    public int getDirtyCell(int i) {
+        return dirtyCells[i];
+    }
+    
+    /**
+     * Empties the changed-cell set once the renderer has redrawn it.
+     */
+    public void clearDirtyCells() {
+        for (int i = 0; i < dirtyCount; i++) {
+            dirtyFlags[dirtyCells[i]] = false;
+        }
+        dirtyCount = 0;
+    }
+    
+    /**
+     * Marks every cell changed, forcing a full redraw.
+     */
+    public void markAllDirty() {
+        for (int x = 0; x < GRID_WIDTH; x++) {
+            for (int y = 0; y < GRID_HEIGHT; y++) {
+                markDirty(x, y);
+            }
+        }
+    }
+    
+    /**
+     * Checks if position is valid.
+     */
+    private boolean isValidPosition(int x, int y) {
+        return x >= 0 && x < GRID_WIDTH && y >= 0 && y < GRID_HEIGHT;
+    }
+    
+    /**
+     * Checks if entity type is obstacle.
+     */
+    private boolean isObstacleType(int type) {
+        return type == 1 || type == 3 || type == 4;
+    }
+    
+    /**
+     * Adds event to queue.
+     */
+    private void addEvent(GameUpdateEvent.Type type, int oldX, int oldY, int newX, int newY, int value) {
+        boolean perFrame = eventBus.isSubscribed(type);
+        boolean perTick = tickEventBus.isSubscribed(type);
+        if (lookaheadDepth > 0 || (!perFrame && !perTick)) {
+            return; // Hypothetical moves are never shown; unwanted types are never built
+        }
+        if (type == GameUpdateEvent.Type.IMPACT
+                && watchdog.isAtLeast(TickWatchdog.Level.SKIP_COSMETICS)) {
+            return; // Impact flashes are purely cosmetic
+        }
+        
+        // When degraded, same-type events on a cell collapse into one
+        if (perFrame) {
+            eventBus.publish(type, oldX, oldY, newX, newY, value,
+                             watchdog.isAtLeast(TickWatchdog.Level.COALESCE_EVENTS));
+        }
+        if (perTick) {
+            tickEventBus.publish(type, oldX, oldY, newX, newY, value, false);
+        }
+    }
+    
+    private void addEvent(GameUpdateEvent.Type type, int oldX, int oldY, int newX, int newY) {
+        addEvent(type, oldX, oldY, newX, newY, 0);
+    }
+    
+    private void addEvent(GameUpdateEvent.Type type, int x, int y, int value) {
+        addEvent(type, 0, 0, x, y, value);
+    }
+    
+    private void addEvent(GameUpdateEvent.Type type, int x, int y) {
+        addEvent(type, 0, 0, x, y, 0);
+    }
+    
+    /**
+     * Delivers pending events to the event bus subscribers.
+     * @return Number of events delivered
+     */
+    public int flushEvents() {
+        int delivered = eventBus.flush();
+        if (perfStats != null) {
+            perfStats.addEvents(delivered);
+        }
+        return delivered;
+    }
+    
+    // Getters
+    public Player getPlayer() { return player; }
+    public List<Enemy> getEnemies() { return enemies; }
+    public SpawnSystem getSpawnSystem() { return spawnSystem; }
+    public int getEnemiesDefeated() { return spawnSystem.getEnemiesDefeated(); }
+    public int getAliveEnemyCount() { return aliveEnemies; }
+    public PerfStats getPerfStats() { return perfStats; }
+    public void setPerfStats(PerfStats perfStats) { this.perfStats = perfStats; }
+    public TelemetryJournal getJournal() { return journal; }
+    
+    /**
+     * Starts or stops journaling telemetry. A wave already running is
+     * journaled as starting now. The caller owns the journal and closes it.
+     */
+    public void setJournal(TelemetryJournal journal) {
+        this.journal = journal;
+        if (journal != null && spawnSystem.isWaveActive()) {
+            journal.setTick(currentTick);
+            journal.recordWaveStart(spawnSystem.getCurrentWave(), spawnSystem.getEnemiesPerWave());
+        }
+    }
+    public long getCurrentTick() { return currentTick; }
+    public int getRewindableTicks() { return rewindBuffer != null ? rewindBuffer.getFrameCount() : 0; }
+    
+    /**
+     * Converts a tick count to seconds for display.
+     */
+    public static double ticksToSeconds(long ticks) {
+        return ticks / (double) Constants.TICKS_PER_SECOND;
+    }
+    public TickWatchdog getWatchdog() { return watchdog; }
+    public EventBus getEventBus() { return eventBus; }
+    
+    /**
+     * Bus delivered once at the end of every tick instead of once per
+     * rendered frame, so a batch never spans two ticks. Events published
+     * between ticks (player moves) go out with the next tick. Nothing is
+     * merged, and a rewind is delivered as one REWIND event (value = ticks
+     * undone) instead of the cell refreshes sent on the frame bus.
+     */
+    public EventBus getTickEventBus() { return tickEventBus; }
+    
+    /**
+     * Checks if cosmetic effects should be shown at the current degradation level.
+     */
+    public boolean isCosmeticsEnabled() {
+        return !watchdog.isAtLeast(TickWatchdog.Level.SKIP_COSMETICS);
+    }
+    public UpgradeManager getUpgradeManager() { return upgradeManager; }
+    public int getEntityAt(int x, int y) { return entityGrid[x][y]; }
+    public Obstacle getObstacleAt(int x, int y) { return obstacleGrid[x][y]; }
+    
+    /**
+     * Gets the light level of a cell, from 0 (black) to LightMap.MAX_LIGHT.
+     */
+    public int getLightAt(int x, int y) { return lightMap.getLight(x, y); }
+    
+    /**
+     * Gets the brightness step to draw a cell at: its light level, dimmed
+     * further when fog of war hides it.
+     */
+    public int getShadeAt(int x, int y) {
+        int shade = LightMap.toShade(lightMap.getLight(x, y));
+        return isCellVisible(x, y) ? shade : Math.min(shade, Constants.FOG_SHADE);
+    }
+    
+    /**
+     * Checks if the player can see a cell. Always true without fog of war.
+     */
+    public boolean isCellVisible(int x, int y) {
+        return fieldOfView == null || fieldOfView.isVisible(x, y);
+    }
+    
+    /**
+     * Brings the field of view up to date with the player's cell. Cells that
+     * came into or went out of sight are added to the dirty-cell set. Call
+     * once per frame before redrawing dirty cells.
+     */
+    public void updateFieldOfView() {
+        if (fieldOfView != null) {
+            fieldOfView.update(player.getX(), player.getY());
+        }
+    }
+    
+    public FieldOfView getFieldOfView() { return fieldOfView; }
+    public int getEnemyHealthAt(int x, int y) {
+        Enemy enemy = findEnemyAt(x, y);
+        return enemy != null ? enemy.getHp() : 0;
+    }
+    public boolean isLevelComplete() {
+        return spawnSystem.isLevelComplete();
+    }
 }
\ No newline at end of file
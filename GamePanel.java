@@ -1,362 +1,624 @@
-package application;
-
-import javafx.scene.layout.*;
-import javafx.scene.paint.Color;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
-import javafx.geometry.Pos;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import java.util.HashMap;
-import java.util.Map;
-
-/**
- * Game panel for rendering the grid-based game with UI elements.
- */
-public class GamePanel {
-    private static final int CELL_SIZE = 40;
-    private static final int GRID_WIDTH = GameLogic.GRID_WIDTH;
-    private static final int GRID_HEIGHT = GameLogic.GRID_HEIGHT;
-    
-    private GridPane gridView;
-    private BorderPane mainLayout;
-    private VBox topBar;
-    private HBox bottomBar;
-    
-    private GameLogic logic;
-    private Rectangle[][] gridCells;
-    private Map<String, VisualEntity> entities;
-    
-    // UI elements
-    private Text waveText;
-    private Text enemiesText;
-    private HBox healthBar;
-    private Text cooldownText;
-    
-    /**
-     * Creates game panel.
-     */
-    public GamePanel(GameLogic logic) {
-        this.logic = logic;
-        this.entities = new HashMap<>();
-        
-        initializeUI();
-        initializeGrid();
-        updateUI();
-    }
-    
-    /**
-     * Initializes UI components.
-     */
-    private void initializeUI() {
-        mainLayout = new BorderPane();
-        mainLayout.setStyle("-fx-background-color: #1a1a2e;");
-        
-        // Top bar - Wave info and health
-        topBar = new VBox(10);
-        topBar.setAlignment(Pos.CENTER);
-        topBar.setStyle("-fx-background-color: #16213e; -fx-padding: 10;");
-        
-        HBox topInfo = new HBox(30);
-        topInfo.setAlignment(Pos.CENTER);
-        
-        // Wave information
-        VBox waveInfo = new VBox(5);
-        waveInfo.setAlignment(Pos.CENTER);
-        waveText = new Text("Wave: 1");
-        waveText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        waveText.setFill(Color.WHITE);
-        enemiesText = new Text("Enemies: 0/5");
-        enemiesText.setFont(Font.font("Arial", 14));
-        enemiesText.setFill(Color.LIGHTGRAY);
-        waveInfo.getChildren().addAll(waveText, enemiesText);
-        
-        // Health bar
-        healthBar = new HBox(5);
-        healthBar.setAlignment(Pos.CENTER);
-        updateHealthBar();
-        
-        topInfo.getChildren().addAll(waveInfo, healthBar);
-        topBar.getChildren().add(topInfo);
-        
-        // Bottom bar - Push cooldown
-        bottomBar = new HBox();
-        bottomBar.setAlignment(Pos.CENTER);
-        bottomBar.setStyle("-fx-background-color: #16213e; -fx-padding: 10;");
-        
-        cooldownText = new Text("Push Ready [SPACE]");
-        cooldownText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        cooldownText.setFill(Color.CYAN);
-        bottomBar.getChildren().add(cooldownText);
-        
-        mainLayout.setTop(topBar);
-        mainLayout.setBottom(bottomBar);
-    }
-    
-    /**
-     * Initializes grid cells.
-     */
-    private void initializeGrid() {
-        gridView = new GridPane();
-        gridView.setAlignment(Pos.CENTER);
-        gridView.setStyle("-fx-background-color: #0f3460;");
-        
-        gridCells = new Rectangle[GRID_WIDTH][GRID_HEIGHT];
-        
-        for (int x = 0; x < GRID_WIDTH; x++) {
-            for (int y = 0; y < GRID_HEIGHT; y++) {
-                Rectangle cell = new Rectangle(CELL_SIZE, CELL_SIZE);
-                cell.setStroke(Color.rgb(20, 50, 80));
-                cell.setStrokeWidth(0.5);
-                
-                int entityType = logic.getEntityAt(x, y);
-                updateCellColor(cell, entityType);
-                
-                gridCells[x][y] = cell;
-                gridView.add(cell, x, y);
-            }
-        }
-        
-        mainLayout.setCenter(gridView);
-    }
-    
-    /**
-     * Updates cell color based on entity type.
-     */
-    private void updateCellColor(Rectangle cell, int entityType) {
-        switch (entityType) {
-            case 0: // Empty
-                cell.setFill(Color.rgb(15, 52, 96));
-                break;
-            case 1: // Wall
-                cell.setFill(Color.rgb(60, 60, 60));
-                break;
-            case 2: // Enemy
-                cell.setFill(Color.rgb(200, 50, 50));
-                break;
-            case 3: // Spikes
-                cell.setFill(Color.rgb(100, 100, 100));
-                break;
-            case 4: // Campfire
-                cell.setFill(Color.rgb(255, 150, 50));
-                break;
-            default:
-                cell.setFill(Color.rgb(15, 52, 96));
-        }
-    }
-    
-    /**
-     * Updates health bar display.
-     */
-    private void updateHealthBar() {
-        healthBar.getChildren().clear();
-        
-        Text label = new Text("Health: ");
-        label.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        label.setFill(Color.WHITE);
-        healthBar.getChildren().add(label);
-        
-        int health = logic.getPlayer().getHealth();
-        int maxHealth = logic.getPlayer().getMaxHealth();
-        
-        for (int i = 0; i < maxHealth; i++) {
-            Rectangle heart = new Rectangle(25, 25);
-            heart.setArcWidth(5);
-            heart.setArcHeight(5);
-            
-            if (i < health) {
-                heart.setFill(Color.RED);
-                heart.setStroke(Color.DARKRED);
-            } else {
-                heart.setFill(Color.rgb(50, 50, 50));
-                heart.setStroke(Color.rgb(30, 30, 30));
-            }
-            heart.setStrokeWidth(2);
-            
-            healthBar.getChildren().add(heart);
-        }
-    }
-    
-    /**
-     * Updates UI elements.
-     */
-    private void updateUI() {
-        // Update wave info
-        SpawnSystem spawn = logic.getSpawnSystem();
-        waveText.setText("Wave: " + spawn.getCurrentWave());
-        
-        int aliveEnemies = 0;
-        for (Enemy enemy : logic.getEnemies()) {
-            if (!enemy.isDead()) aliveEnemies++;
-        }
-        
-        enemiesText.setText("Enemies: " + spawn.getEnemiesSpawned() + "/" + 
-                           spawn.getEnemiesPerWave() + " (Alive: " + aliveEnemies + ")");
-        
-        // Update health bar
-        updateHealthBar();
-        
-        // Update push cooldown
-        Player player = logic.getPlayer();
-        if (player.canPush()) {
-            cooldownText.setText("Push Ready [SPACE]");
-            cooldownText.setFill(Color.CYAN);
-        } else {
-            double cooldown = player.getPushCooldown();
-            cooldownText.setText(String.format("Push Cooldown: %.1fs", cooldown));
-            cooldownText.setFill(Color.GRAY);
-        }
-    }
-    
-    /**
-     * Handles game update event.
-     */
-    public void handleEvent(GameLogic.GameUpdateEvent event) {
-        switch (event.type) {
-            case PLAYER_MOVE:
-                handlePlayerMove(event);
-                break;
-            case ENEMY_MOVE:
-                handleEnemyMove(event);
-                break;
-            case ENEMY_SPAWN:
-                handleEnemySpawn(event);
-                break;
-            case DAMAGE:
-                handleDamage(event);
-                break;
-            case REMOVE_ENTITY:
-                handleRemoveEntity(event);
-                break;
-            case IMPACT:
-                handleImpact(event);
-                break;
-            case PLAYER_DAMAGE:
-                handlePlayerDamage(event);
-                break;
-        }
-        
-        updateUI();
-    }
-    
-    private void handlePlayerMove(GameLogic.GameUpdateEvent event) {
-        // Clear old position
-        updateCellColor(gridCells[event.oldX][event.oldY], 0);
-        
-        // Draw player at new position
-        gridCells[event.newX][event.newY].setFill(Color.BLUE);
-    }
-    
-    private void handleEnemyMove(GameLogic.GameUpdateEvent event) {
-        // Clear old position
-        int oldType = logic.getEntityAt(event.oldX, event.oldY);
-        updateCellColor(gridCells[event.oldX][event.oldY], oldType);
-        
-        // Draw enemy at new position
-        Enemy enemy = logic.findEnemyAt(event.newX, event.newY);
-        if (enemy != null) {
-            Color enemyColor = getEnemyColor(enemy.getType());
-            gridCells[event.newX][event.newY].setFill(enemyColor);
-        }
-    }
-    
-    private void handleEnemySpawn(GameLogic.GameUpdateEvent event) {
-        Enemy enemy = logic.findEnemyAt(event.newX, event.newY);
-        if (enemy != null) {
-            Color enemyColor = getEnemyColor(enemy.getType());
-            gridCells[event.newX][event.newY].setFill(enemyColor);
-        }
-    }
-    
-    private void handleDamage(GameLogic.GameUpdateEvent event) {
-        // Flash effect
-        Rectangle cell = gridCells[event.newX][event.newY];
-        Color originalColor = (Color) cell.getFill();
-        cell.setFill(Color.WHITE);
-        
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                javafx.application.Platform.runLater(() -> {
-                    Enemy enemy = logic.findEnemyAt(event.newX, event.newY);
-                    if (enemy != null && !enemy.isDead()) {
-                        cell.setFill(getEnemyColor(enemy.getType()));
-                    } else {
-                        updateCellColor(cell, logic.getEntityAt(event.newX, event.newY));
-                    }
-                });
-            }
-        }, 100);
-    }
-    
-    private void handleRemoveEntity(GameLogic.GameUpdateEvent event) {
-        int type = logic.getEntityAt(event.newX, event.newY);
-        updateCellColor(gridCells[event.newX][event.newY], type);
-    }
-    
-    private void handleImpact(GameLogic.GameUpdateEvent event) {
-        // Impact flash
-        Rectangle cell = gridCells[event.newX][event.newY];
-        cell.setFill(Color.YELLOW);
-        
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                javafx.application.Platform.runLater(() -> {
-                    updateCellColor(cell, logic.getEntityAt(event.newX, event.newY));
-                });
-            }
-        }, 150);
-    }
-    
-    private void handlePlayerDamage(GameLogic.GameUpdateEvent event) {
-        updateHealthBar();
-        
-        // Flash player
-        Rectangle cell = gridCells[event.newX][event.newY];
-        cell.setFill(Color.WHITE);
-        
-        new java.util.Timer().schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                javafx.application.Platform.runLater(() -> {
-                    cell.setFill(Color.BLUE);
-                });
-            }
-        }, 200);
-    }
-    
-    /**
-     * Gets color for enemy type.
-     */
-    private Color getEnemyColor(Enemy.EnemyType type) {
-        switch (type) {
-            case GOBLIN:
-                return Color.rgb(100, 200, 100); // Green
-            case SKELETON:
-                return Color.rgb(220, 220, 220); // White/Gray
-            case BRUTE:
-                return Color.rgb(150, 100, 200); // Purple
-            case BOOMER:
-                return Color.rgb(255, 100, 100); // Bright Red
-            default:
-                return Color.rgb(200, 50, 50);
-        }
-    }
-    
-    public Pane getGridView() {
-        return mainLayout;
-    }
-    
-    /**
-     * Inner class for visual entity representation.
-     */
-    private static class VisualEntity {
-        Rectangle rectangle;
-        Text healthText;
-        
-        VisualEntity(Rectangle rect) {
-            this.rectangle = rect;
-        }
-    }
+package application;
+
+import java.util.HashMap;
+import java.util.Map;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.geometry.Pos;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+
+/**
+ * Game panel for rendering the grid-based game with UI elements.
+ */
+public class GamePanel implements EventBus.Listener {
+    private static final int CELL_SIZE = 40;
+    private static final int GRID_WIDTH = GameLogic.GRID_WIDTH;
+    private static final int GRID_HEIGHT = GameLogic.GRID_HEIGHT;
+    
+    // Metrics of the game on screen
+    private static final Metrics.Histogram PULSE_TIME = Metrics.histogram(
+        "pkp_fx_pulse_seconds", "Time spent rendering one frame on the FX thread", Metrics.LATENCY_BUCKETS);
+    private static final Metrics.Gauge ENEMIES_ALIVE = Metrics.gauge(
+        "pkp_enemies_alive", "Enemies alive in the game on screen");
+    private static final Metrics.Gauge CURRENT_WAVE = Metrics.gauge(
+        "pkp_wave", "Current wave of the game on screen");
+    private static final Metrics.Gauge WATCHDOG_LEVEL = Metrics.gauge(
+        "pkp_watchdog_level", "Degradation level ordinal of the game on screen, 0 = FULL");
+    
+    private GridPane gridView;
+    private BorderPane mainLayout;
+    private VBox topBar;
+    private HBox bottomBar;
+    
+    private GameLogic logic;
+    private Rectangle[][] gridCells;     // Node-per-cell view, null with the canvas renderer
+    private CanvasGridRenderer canvasRenderer;
+    private MotionTracker motion;        // Null unless interpolating on the canvas
+    private final EffectScheduler effects;
+    private long frameTime;              // AnimationTimer time of the current frame
+    private final boolean useCanvas;
+    private final boolean dirtySync;     // Redraw dirty cells from state instead of per event
+    private final Map<Color, Color[]> shadeCache = new HashMap<>(); // Base color -> color per light shade
+    
+    // UI elements
+    private Text waveText;
+    private Text enemiesText;
+    private HBox healthBar;
+    private Rectangle[] hearts;
+    private Text cooldownText;
+    
+    // Performance overlay (F3 or DEBUG_MODE)
+    private Text perfText;
+    private final PerfStats perfStats;
+    private final StringBuilder perfLine = new StringBuilder(256);
+    
+    // Last values shown in the HUD, to skip unchanged updates
+    private int shownWave = -1;
+    private int shownSpawned = -1;
+    private int shownPerWave = -1;
+    private int shownAlive = -1;
+    private int shownHealth = -1;
+    private int shownCooldownTenths = -2; // -1 means push ready
+    
+    /**
+     * Creates game panel.
+     */
+    public GamePanel(GameLogic logic) {
+        this(logic, Constants.CANVAS_RENDERER);
+    }
+    
+    /**
+     * Creates game panel with the chosen grid view.
+     * @param useCanvas Draw the grid on a Canvas instead of one node per cell
+     */
+    public GamePanel(GameLogic logic, boolean useCanvas) {
+        this.logic = logic;
+        this.useCanvas = useCanvas;
+        // Fog and light changes only reach the view through the dirty set
+        this.dirtySync = Constants.DIRTY_CELL_SYNC || useCanvas || Constants.FOG_OF_WAR
+                         || Constants.AMBIENT_LIGHT < 1;
+        this.effects = new EffectScheduler(GRID_WIDTH, GRID_HEIGHT, this::redrawCell);
+        this.perfStats = new PerfStats();
+        logic.setPerfStats(perfStats);
+        
+        initializeUI();
+        initializeGrid();
+        updateUI();
+        
+        if (dirtySync) {
+            // Cells come from the dirty set; events only drive the flashes
+            logic.getEventBus().subscribe(GameUpdateEvent.Type.DAMAGE, this);
+            logic.getEventBus().subscribe(GameUpdateEvent.Type.IMPACT, this);
+            logic.getEventBus().subscribe(GameUpdateEvent.Type.PLAYER_DAMAGE, this);
+            logic.markAllDirty();
+        } else {
+            logic.getEventBus().subscribeAll(this);
+        }
+    }
+    
+    /**
+     * Initializes UI components.
+     */
+    private void initializeUI() {
+        mainLayout = new BorderPane();
+        mainLayout.setStyle("-fx-background-color: #1a1a2e;");
+        
+        // Top bar - Wave info and health
+        topBar = new VBox(10);
+        topBar.setAlignment(Pos.CENTER);
+        topBar.setStyle("-fx-background-color: #16213e; -fx-padding: 10;");
+        
+        HBox topInfo = new HBox(30);
+        topInfo.setAlignment(Pos.CENTER);
+        
+        // Wave information
+        VBox waveInfo = new VBox(5);
+        waveInfo.setAlignment(Pos.CENTER);
+        waveText = new Text("Wave: 1");
+        waveText.setFont(Font.font("Arial", FontWeight.BOLD, 18));
+        waveText.setFill(Color.WHITE);
+        enemiesText = new Text("Enemies: 0/5");
+        enemiesText.setFont(Font.font("Arial", 14));
+        enemiesText.setFill(Color.LIGHTGRAY);
+        waveInfo.getChildren().addAll(waveText, enemiesText);
+        
+        // Health bar
+        healthBar = new HBox(5);
+        healthBar.setAlignment(Pos.CENTER);
+        Text healthLabel = new Text("Health: ");
+        healthLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        healthLabel.setFill(Color.WHITE);
+        healthBar.getChildren().add(healthLabel);
+        hearts = new Rectangle[0];
+        
+        topInfo.getChildren().addAll(waveInfo, healthBar);
+        topBar.getChildren().add(topInfo);
+        
+        // Bottom bar - Push cooldown
+        bottomBar = new HBox();
+        bottomBar.setAlignment(Pos.CENTER);
+        bottomBar.setStyle("-fx-background-color: #16213e; -fx-padding: 10;");
+        
+        cooldownText = new Text("Push Ready [SPACE]");
+        cooldownText.setFont(Font.font("Arial", FontWeight.BOLD, 16));
+        cooldownText.setFill(Color.CYAN);
+        bottomBar.getChildren().add(cooldownText);
+        
+        mainLayout.setTop(topBar);
+        mainLayout.setBottom(bottomBar);
+    }
+    
+    /**
+     * Initializes grid cells.
+     */
+    private void initializeGrid() {
+        if (useCanvas) {
+            canvasRenderer = new CanvasGridRenderer(logic, CELL_SIZE);
+            if (Constants.INTERPOLATE_MOTION) {
+                motion = new MotionTracker();
+                canvasRenderer.setMotionTracker(motion);
+            }
+            canvasRenderer.drawAll();
+            
+            StackPane canvasView = new StackPane(canvasRenderer.getCanvas());
+            canvasView.setStyle("-fx-background-color: #0f3460;");
+            setCenterView(canvasView);
+            return;
+        }
+        
+        gridView = new GridPane();
+        gridView.setAlignment(Pos.CENTER);
+        gridView.setStyle("-fx-background-color: #0f3460;");
+        
+        gridCells = new Rectangle[GRID_WIDTH][GRID_HEIGHT];
+        
+        for (int x = 0; x < GRID_WIDTH; x++) {
+            for (int y = 0; y < GRID_HEIGHT; y++) {
+                Rectangle cell = new Rectangle(CELL_SIZE, CELL_SIZE);
+                cell.setStroke(Color.rgb(20, 50, 80));
+                cell.setStrokeWidth(0.5);
+                
+                gridCells[x][y] = cell;
+                updateCellColor(x, y, logic.getEntityAt(x, y));
+
+                gridView.add(cell, x, y);
+            }
+        }
+        
+        setCenterView(gridView);
+    }
+    
+    /**
+     * Places the grid view in the layout with the performance overlay on top.
+     */
+    private void setCenterView(Pane view) {
+        perfText = new Text();
+        perfText.setFont(Font.font("Monospaced", 12));
+        perfText.setFill(Color.LIME);
+        perfText.setMouseTransparent(true);
+        perfText.setVisible(Constants.DEBUG_MODE);
+        
+        StackPane center = new StackPane(view, perfText);
+        StackPane.setAlignment(perfText, Pos.TOP_LEFT);
+        mainLayout.setCenter(center);
+    }
+    
+    /**
+     * Updates cell color based on entity type.
+     */
+    private void updateCellColor(int x, int y, int entityType) {
+        paintCell(x, y, getCellColor(entityType));
+    }
+    
+    /**
+     * Fills a cell with a color darkened by the cell's light level.
+     */
+    private void paintCell(int x, int y, Color base) {
+        int shade = logic.getShadeAt(x, y);
+        if (shade == Constants.LIGHT_SHADES - 1) {
+            gridCells[x][y].setFill(base);
+            return;
+        }
+        
+        // Shaded colors are built once per base color
+        Color[] shades = shadeCache.get(base);
+        if (shades == null) {
+            shades = new Color[Constants.LIGHT_SHADES];
+            for (int i = 0; i < shades.length; i++) {
+                shades[i] = base.deriveColor(0, 1, i / (shades.length - 1.0), 1);
+            }
+            shadeCache.put(base, shades);
+        }
+        gridCells[x][y].setFill(shades[shade]);
+    }
+    
+    /**
+     * Gets color for entity type.
+     */
+    static Color getCellColor(int entityType) {
+        switch (entityType) {
+            case 0: // Empty
+                return Color.rgb(15, 52, 96);
+            case 1: // Wall
+                return Color.rgb(60, 60, 60);
+            case 2: // Enemy
+                return Color.rgb(200, 50, 50);
+            case 3: // Spikes
+                return Color.rgb(100, 100, 100);
+            case 4: // Campfire
+                return Color.rgb(255, 150, 50);
+            default:
+                return Color.rgb(15, 52, 96);
+        }
+    }
+    
+    /**
+     * Updates health bar display. Hearts are only created when the
+     * maximum health changes; otherwise they are recolored in place.
+     */
+    private void updateHealthBar(int health, int maxHealth) {
+        if (hearts.length != maxHealth) {
+            healthBar.getChildren().removeAll(hearts);
+            hearts = new Rectangle[maxHealth];
+            for (int i = 0; i < maxHealth; i++) {
+                Rectangle heart = new Rectangle(25, 25);
+                heart.setArcWidth(5);
+                heart.setArcHeight(5);
+                heart.setStrokeWidth(2);
+                hearts[i] = heart;
+            }
+            healthBar.getChildren().addAll(hearts);
+            shownHealth = -1;
+        }
+        
+        int from = shownHealth < 0 ? 0 : Math.min(shownHealth, health);
+        int to = shownHealth < 0 ? maxHealth : Math.max(shownHealth, health);
+        for (int i = from; i < to; i++) {
+            if (i < health) {
+                hearts[i].setFill(Color.RED);
+                hearts[i].setStroke(Color.DARKRED);
+            } else {
+                hearts[i].setFill(Color.rgb(50, 50, 50));
+                hearts[i].setStroke(Color.rgb(30, 30, 30));
+            }
+        }
+        shownHealth = health;
+    }
+    
+    /**
+     * Updates UI elements whose values changed since the last call.
+     * Call once per frame.
+     */
+    public void updateUI() {
+        // Update wave info
+        SpawnSystem spawn = logic.getSpawnSystem();
+        int wave = spawn.getCurrentWave();
+        if (wave != shownWave) {
+            waveText.setText("Wave: " + wave);
+            shownWave = wave;
+        }
+        
+        int spawned = spawn.getEnemiesSpawned();
+        int perWave = spawn.getEnemiesPerWave();
+        int alive = logic.getAliveEnemyCount();
+        if (spawned != shownSpawned || perWave != shownPerWave || alive != shownAlive) {
+            enemiesText.setText("Enemies: " + spawned + "/" + perWave + " (Alive: " + alive + ")");
+            shownSpawned = spawned;
+            shownPerWave = perWave;
+            shownAlive = alive;
+        }
+        
+        // Update health bar
+        Player player = logic.getPlayer();
+        if (player.getHealth() != shownHealth || player.getMaxHealth() != hearts.length) {
+            updateHealthBar(player.getHealth(), player.getMaxHealth());
+        }
+        
+        // Update push cooldown
+        int tenths = player.canPush() ? -1
+                   : (int) Math.round(GameLogic.ticksToSeconds(player.getPushCooldownTicks()) * 10);
+        if (tenths != shownCooldownTenths) {
+            if (tenths < 0) {
+                cooldownText.setText("Push Ready [SPACE]");
+                cooldownText.setFill(Color.CYAN);
+            } else {
+                cooldownText.setText(String.format("Push Cooldown: %.1fs", tenths / 10.0));
+                cooldownText.setFill(Color.GRAY);
+            }
+            shownCooldownTenths = tenths;
+        }
+    }
+    
+    /**
+     * Renders one frame: expires flashes, redraws changed cells, delivers
+     * pending events (new flashes land on top), then refreshes the HUD and
+     * the performance overlay.
+     * @param now AnimationTimer frame time in nanoseconds
+     */
+    public void renderFrame(long now) {
+        long start = System.nanoTime();
+        updateEffects(now);
+        syncDirtyCells();
+        logic.flushEvents();
+        updateUI();
+        updatePerfOverlay(now);
+        PULSE_TIME.record(System.nanoTime() - start);
+        ENEMIES_ALIVE.set(logic.getAliveEnemyCount());
+        CURRENT_WAVE.set(logic.getSpawnSystem().getCurrentWave());
+        WATCHDOG_LEVEL.set(logic.getWatchdog().getLevel().ordinal());
+    }
+    
+    /**
+     * Advances flash effects. Call once per frame before syncing and
+     * flushing events.
+     * @param now AnimationTimer frame time in nanoseconds
+     */
+    public void updateEffects(long now) {
+        frameTime = now;
+        effects.update(now);
+    }
+    
+    /**
+     * Records the frame for the performance overlay and refreshes its text
+     * once per second while it is shown.
+     * @param now AnimationTimer frame time in nanoseconds
+     */
+    public void updatePerfOverlay(long now) {
+        if (perfStats.recordFrame(now) && perfText.isVisible()) {
+            perfStats.format(perfLine, logic.getAliveEnemyCount());
+            perfText.setText(perfLine.toString());
+        }
+    }
+    
+    /**
+     * Shows or hides the performance overlay.
+     */
+    public void togglePerfOverlay() {
+        perfText.setVisible(!perfText.isVisible());
+        if (perfText.isVisible() && perfStats.getWindowsCompleted() > 0) {
+            perfStats.format(perfLine, logic.getAliveEnemyCount());
+            perfText.setText(perfLine.toString());
+        }
+    }
+    
+    /**
+     * Stops effects and detaches from the game. Called when the game ends.
+     */
+    public void dispose() {
+        effects.clear();
+        logic.getEventBus().unsubscribe(this);
+        logic.setPerfStats(null);
+    }
+    
+    /**
+     * Redraws every cell changed since the last sync from the current state.
+     * Call before flushing events so flashes land on top.
+     */
+    public void syncDirtyCells() {
+        if (!dirtySync) return;
+        
+        logic.updateFieldOfView();
+        if (motion != null) {
+            motion.update(logic, frameTime);
+        }
+        
+        int count = logic.getDirtyCellCount();
+        if (canvasRenderer != null) {
+            // Obstacle edits are dirty cells too; refresh their cached tiles before any redraw
+            for (int i = 0; i < count; i++) {
+                int cell = logic.getDirtyCell(i);
+                canvasRenderer.refreshStaticCell(cell / GRID_HEIGHT, cell % GRID_HEIGHT);
+            }
+        }
+        
+        if (canvasRenderer != null && canvasRenderer.updateCamera(frameTime)) {
+            // The view scrolled and was redrawn whole; put running flashes back
+            for (int i = 0; i < effects.getActiveCount(); i++) {
+                int cell = effects.getActiveCell(i);
+                int x = cell / GRID_HEIGHT;
+                int y = cell % GRID_HEIGHT;
+                if (logic.isCellVisible(x, y)) {
+                    fillCell(x, y, effects.getActiveColorAt(i));
+                }
+            }
+        } else {
+            if (motion != null) {
+                // Erase last frame's sprites before drawing them at new positions
+                for (int i = 0; i < canvasRenderer.getCoveredCellCount(); i++) {
+                    int cell = canvasRenderer.getCoveredCell(i);
+                    syncCell(cell / GRID_HEIGHT, cell % GRID_HEIGHT);
+                }
+            }
+            
+            // Off-screen cells are skipped by the canvas renderer
+            for (int i = 0; i < count; i++) {
+                int cell = logic.getDirtyCell(i);
+                syncCell(cell / GRID_HEIGHT, cell % GRID_HEIGHT);
+            }
+        }
+        logic.clearDirtyCells();
+        
+        if (motion != null) {
+            canvasRenderer.drawMovingSprites();
+        }
+    }
+    
+    /**
+     * Redraws a cell and any flash still running on it, unless the cell
+     * has gone out of sight.
+     */
+    private void syncCell(int x, int y) {
+        redrawCell(x, y);
+        if (!logic.isCellVisible(x, y)) return;
+        Color effect = effects.getActiveColor(x, y);
+        if (effect != null) {
+            fillCell(x, y, effect);
+        }
+    }
+    
+    /**
+     * Draws one cell from the current state.
+     */
+    private void redrawCell(int x, int y) {
+        if (canvasRenderer != null) {
+            canvasRenderer.drawCell(x, y);
+            return;
+        }
+        
+        Player player = logic.getPlayer();
+        if (player.getX() == x && player.getY() == y) {
+            paintCell(x, y, Color.BLUE);
+            return;
+        }
+        Enemy enemy = logic.findEnemyAt(x, y);
+        if (enemy != null && logic.isCellVisible(x, y)) {
+            paintCell(x, y, getEnemyColor(enemy.getType()));
+        } else if (enemy != null) {
+            updateCellColor(x, y, 0); // Enemies out of sight are not shown
+        } else {
+            updateCellColor(x, y, logic.getEntityAt(x, y));
+        }
+    }
+    
+    /**
+     * Paints a cell and restores it after the given time. Cells hidden by
+     * fog of war get no flash, so hits out of sight are not revealed.
+     */
+    private void flash(int x, int y, Color color, double seconds) {
+        if (!logic.isCellVisible(x, y)) return;
+        fillCell(x, y, color);
+        effects.schedule(x, y, color, frameTime, seconds);
+    }
+    
+    /**
+     * Paints an effect color over a cell.
+     */
+    private void fillCell(int x, int y, Color color) {
+        if (canvasRenderer != null) {
+            canvasRenderer.fillCell(x, y, color);
+        } else {
+            gridCells[x][y].setFill(color);
+        }
+    }
+    
+    /**
+     * Handles a batch of game update events of one type.
+     */
+    @Override
+    public void onEvents(GameUpdateEvent.Type type, EventBus.Batch batch) {
+        FlightEvents.PanelBatch event = new FlightEvents.PanelBatch();
+        event.begin();
+        for (int i = 0; i < batch.size(); i++) {
+            handleEvent(type, batch.oldX(i), batch.oldY(i), batch.newX(i), batch.newY(i));
+        }
+        if (event.shouldCommit()) {
+            event.eventType = type.name();
+            event.events = batch.size();
+            event.commit();
+        }
+    }
+    
+    /**
+     * Handles game update event.
+     */
+    private void handleEvent(GameUpdateEvent.Type type, int oldX, int oldY, int newX, int newY) {
+        switch (type) {
+            case PLAYER_MOVE:
+                handlePlayerMove(oldX, oldY, newX, newY);
+                break;
+            case ENEMY_MOVE:
+                handleEnemyMove(oldX, oldY, newX, newY);
+                break;
+            case ENEMY_SPAWN:
+                handleEnemySpawn(newX, newY);
+                break;
+            case DAMAGE:
+                handleDamage(newX, newY);
+                break;
+            case REMOVE_ENTITY:
+                handleRemoveEntity(newX, newY);
+                break;
+            case IMPACT:
+                handleImpact(newX, newY);
+                break;
+            case PLAYER_DAMAGE:
+                handlePlayerDamage(newX, newY);
+                break;
+        }
+    }
+    
+    private void handlePlayerMove(int oldX, int oldY, int newX, int newY) {
+        // Clear old position
+        updateCellColor(oldX, oldY, 0);
+        
+        // Draw player at new position
+        paintCell(newX, newY, Color.BLUE);
+    }
+    
+    private void handleEnemyMove(int oldX, int oldY, int newX, int newY) {
+        // Clear old position
+        int oldType = logic.getEntityAt(oldX, oldY);
+        updateCellColor(oldX, oldY, oldType);
+        
+        // Draw enemy at new position
+        Enemy enemy = logic.findEnemyAt(newX, newY);
+        if (enemy != null) {
+            paintCell(newX, newY, getEnemyColor(enemy.getType()));
+        }
+    }
+    
+    private void handleEnemySpawn(int x, int y) {
+        Enemy enemy = logic.findEnemyAt(x, y);
+        if (enemy != null) {
+            paintCell(x, y, getEnemyColor(enemy.getType()));
+        }
+    }
+    
+    private void handleDamage(int x, int y) {
+        // Skip the flash when the tick watchdog is shedding cosmetics
+        if (!logic.isCosmeticsEnabled()) return;
+        
+        // Flash effect
+        flash(x, y, Color.WHITE, Constants.DAMAGE_FLASH_DURATION);
+    }
+    
+    private void handleRemoveEntity(int x, int y) {
+        int type = logic.getEntityAt(x, y);
+        updateCellColor(x, y, type);
+    }
+    
+    private void handleImpact(int x, int y) {
+        // Impact flash
+        flash(x, y, Color.YELLOW, Constants.IMPACT_FLASH_DURATION);
+    }
+    
+    private void handlePlayerDamage(int x, int y) {
+        // Flash player
+        flash(x, y, Color.WHITE, Constants.PLAYER_FLASH_DURATION);
+    }
+    
+    /**
+     * Gets color for enemy type.
+     */
+    static Color getEnemyColor(Enemy.EnemyType type) {
+        switch (type) {
+            case GOBLIN:
+                return Color.rgb(100, 200, 100); // Green
+            case SKELETON:
+                return Color.rgb(220, 220, 220); // White/Gray
+            case BRUTE:
+                return Color.rgb(150, 100, 200); // Purple
+            case BOOMER:
+                return Color.rgb(255, 100, 100); // Bright Red
+            default:
+                return Color.rgb(200, 50, 50);
+        }
+    }
+    
+    public Pane getGridView() {
+        return mainLayout;
+    }
 }
\ No newline at end of file
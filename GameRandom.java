@@ -0,0 +1,52 @@
+package application;
+
+import java.util.Random;
+
+/**
+ * Random source whose state can be read, restored and copied.
+ * Uses the same generator as java.util.Random, so a GameRandom seeded
+ * with s produces exactly the sequence of new Random(s).
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+    
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+    
+    // Assigned from Random's constructor via setSeed, so it has no initializer
+    private long state;
+    
+    public GameRandom() {
+        super();
+    }
+    
+    public GameRandom(long seed) {
+        super(seed);
+    }
+    
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        this.state = (seed ^ MULTIPLIER) & MASK;
+    }
+    
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+    
+    /**
+     * Creates an independent generator at the same point in the sequence.
+     */
+    public GameRandom copy() {
+        GameRandom copy = new GameRandom(0);
+        copy.state = state;
+        return copy;
+    }
+    
+    // Raw generator state, for snapshots and rollback
+    public long getState() { return state; }
+    public void setState(long state) { this.state = state; }
+}
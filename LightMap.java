@@ -0,0 +1,282 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Grid lighting from ambient light plus point sources such as campfires.
+ * Each source caches its own contribution as a small square map with
+ * distance falloff, where cells hidden behind light-blocking obstacles get
+ * nothing. The combined map is the ambient level plus the sum of all source
+ * maps, kept as integers so it can be updated by adding the difference of
+ * a recomputed source instead of rebuilding the whole grid.
+ *
+ * When an obstacle changes, only sources whose radius covers it are
+ * recomputed, only their squares are recombined, and only cells whose
+ * final level changed are reported to the listener.
+ */
+public class LightMap {
+    public static final int MAX_LIGHT = 255;
+    
+    /**
+     * Receives cells whose light level changed.
+     */
+    public interface CellListener {
+        void lightChanged(int x, int y);
+    }
+    
+    /**
+     * One light source and its cached contribution.
+     */
+    private static class Source {
+        final int x, y, radius;
+        final int size;                  // Side of the cached square (2 * radius + 1)
+        int[] map;                       // Contribution per cell of the square
+        
+        Source(int x, int y, int radius) {
+            this.x = x;
+            this.y = y;
+            this.radius = radius;
+            this.size = 2 * radius + 1;
+            this.map = new int[size * size];
+        }
+        
+        Source(Source other) {
+            this(other.x, other.y, other.radius);
+            System.arraycopy(other.map, 0, map, 0, map.length);
+        }
+        
+        boolean covers(int cx, int cy) {
+            return Math.abs(cx - x) <= radius && Math.abs(cy - y) <= radius;
+        }
+    }
+    
+    private final int width;
+    private final int height;
+    private final int ambient;
+    private final CellListener listener;
+    
+    private final boolean[] opaque;      // Light-blocking cells, by x * height + y
+    private final int[] sum;             // Total source light per cell, before ambient
+    private final Source[] sourceAt;     // Source placed on each cell, or null
+    private final List<Source> sources;
+    private int[] scratch = new int[0];  // Reused map for recomputing a source
+    
+    /**
+     * Creates a dark map lit only by ambient light.
+     * @param ambient Light everywhere, from 0 (black) to 1 (fully lit)
+     */
+    public LightMap(int width, int height, double ambient, CellListener listener) {
+        this.width = width;
+        this.height = height;
+        this.ambient = (int) Math.round(Math.max(0, Math.min(1, ambient)) * MAX_LIGHT);
+        this.listener = listener;
+        this.opaque = new boolean[width * height];
+        this.sum = new int[width * height];
+        this.sourceAt = new Source[width * height];
+        this.sources = new ArrayList<>();
+    }
+    
+    /**
+     * Creates an independent copy reporting to another listener.
+     */
+    public LightMap(LightMap other, CellListener listener) {
+        this.width = other.width;
+        this.height = other.height;
+        this.ambient = other.ambient;
+        this.listener = listener;
+        this.opaque = other.opaque.clone();
+        this.sum = other.sum.clone();
+        this.sourceAt = new Source[width * height];
+        this.sources = new ArrayList<>(other.sources.size());
+        for (Source source : other.sources) {
+            Source copy = new Source(source);
+            sources.add(copy);
+            sourceAt[copy.x * height + copy.y] = copy;
+        }
+    }
+    
+    /**
+     * Loads every obstacle of a grid and computes all sources at once,
+     * without reporting changes. Used at level setup.
+     */
+    public void rebuild(Obstacle[][] obstacles) {
+        sources.clear();
+        Arrays.fill(sum, 0);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                Obstacle obstacle = obstacles[x][y];
+                opaque[x * height + y] = obstacle != null && obstacle.blocksLight();
+                sourceAt[x * height + y] = null;
+                if (obstacle != null && obstacle.getLightRadius() > 0) {
+                    Source source = new Source(x, y, obstacle.getLightRadius());
+                    sourceAt[x * height + y] = source;
+                    sources.add(source);
+                }
+            }
+        }
+        for (Source source : sources) {
+            compute(source, source.map);
+            addMap(source);
+        }
+    }
+    
+    /**
+     * Updates a cell after its obstacle changed (null when cleared).
+     * Recomputes only the sources that can reach the cell.
+     */
+    public void setObstacle(int x, int y, Obstacle obstacle) {
+        int cell = x * height + y;
+        
+        // Remove a source that was here
+        Source old = sourceAt[cell];
+        if (old != null) {
+            sourceAt[cell] = null;
+            sources.remove(old);
+            applyDelta(old, old.map, null);
+        }
+        
+        // Occlusion changed: recompute every source that covers the cell
+        boolean blocks = obstacle != null && obstacle.blocksLight();
+        if (opaque[cell] != blocks) {
+            opaque[cell] = blocks;
+            for (Source source : sources) {
+                if (source.covers(x, y)) {
+                    recompute(source);
+                }
+            }
+        }
+        
+        // Add a source placed here
+        if (obstacle != null && obstacle.getLightRadius() > 0) {
+            Source source = new Source(x, y, obstacle.getLightRadius());
+            sourceAt[cell] = source;
+            sources.add(source);
+            compute(source, source.map);
+            applyDelta(source, null, source.map);
+        }
+    }
+    
+    /**
+     * Gets the light level of a cell, from 0 (black) to MAX_LIGHT.
+     */
+    public int getLight(int x, int y) {
+        return Math.min(MAX_LIGHT, ambient + sum[x * height + y]);
+    }
+    
+    /**
+     * Converts a light level to one of the LIGHT_SHADES brightness steps
+     * the renderers draw, where the last step is fully lit.
+     */
+    public static int toShade(int light) {
+        return (light * (Constants.LIGHT_SHADES - 1) + MAX_LIGHT / 2) / MAX_LIGHT;
+    }
+    
+    public int getSourceCount() {
+        return sources.size();
+    }
+    
+    // ==================== SOURCES ====================
+    
+    /**
+     * Recomputes one source into the scratch map and folds the difference
+     * into the combined map.
+     */
+    private void recompute(Source source) {
+        if (scratch.length < source.map.length) {
+            scratch = new int[source.map.length];
+        }
+        compute(source, scratch);
+        applyDelta(source, source.map, scratch);
+        
+        int[] swap = source.map;
+        source.map = scratch;
+        scratch = swap;
+    }
+    
+    /**
+     * Fills a source's square with linear falloff, leaving cells whose line
+     * to the source crosses a blocking cell dark. Blocking cells themselves
+     * are lit, so walls facing a fire glow.
+     */
+    private void compute(Source source, int[] map) {
+        int r = source.radius;
+        for (int dx = -r; dx <= r; dx++) {
+            for (int dy = -r; dy <= r; dy++) {
+                int x = source.x + dx;
+                int y = source.y + dy;
+                int value = 0;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (x >= 0 && x < width && y >= 0 && y < height && distance <= r
+                        && isVisibleFrom(source.x, source.y, x, y)) {
+                    value = (int) Math.round(MAX_LIGHT * (1 - distance / (r + 1)));
+                }
+                map[(dx + r) * source.size + (dy + r)] = value;
+            }
+        }
+    }
+    
+    /**
+     * Walks a Bresenham line between two cells, checking every cell
+     * strictly between them.
+     */
+    private boolean isVisibleFrom(int x0, int y0, int x1, int y1) {
+        int dx = Math.abs(x1 - x0);
+        int dy = Math.abs(y1 - y0);
+        int stepX = x0 < x1 ? 1 : -1;
+        int stepY = y0 < y1 ? 1 : -1;
+        int error = dx - dy;
+        int x = x0;
+        int y = y0;
+        
+        while (true) {
+            int doubled = 2 * error;
+            if (doubled > -dy) {
+                error -= dy;
+                x += stepX;
+            }
+            if (doubled < dx) {
+                error += dx;
+                y += stepY;
+            }
+            if (x == x1 && y == y1) return true;
+            if (opaque[x * height + y]) return false;
+        }
+    }
+    
+    // ==================== COMBINING ====================
+    
+    /**
+     * Adds a source's map without reporting changes.
+     */
+    private void addMap(Source source) {
+        int r = source.radius;
+        for (int x = Math.max(0, source.x - r); x <= Math.min(width - 1, source.x + r); x++) {
+            for (int y = Math.max(0, source.y - r); y <= Math.min(height - 1, source.y + r); y++) {
+                sum[x * height + y] += source.map[(x - source.x + r) * source.size + (y - source.y + r)];
+            }
+        }
+    }
+    
+    /**
+     * Replaces a source's old map (null for none) with a new one (null for
+     * none) within its square, reporting cells whose level changed.
+     */
+    private void applyDelta(Source source, int[] oldMap, int[] newMap) {
+        int r = source.radius;
+        for (int x = Math.max(0, source.x - r); x <= Math.min(width - 1, source.x + r); x++) {
+            for (int y = Math.max(0, source.y - r); y <= Math.min(height - 1, source.y + r); y++) {
+                int i = (x - source.x + r) * source.size + (y - source.y + r);
+                int delta = (newMap != null ? newMap[i] : 0) - (oldMap != null ? oldMap[i] : 0);
+                if (delta == 0) continue;
+                
+                int before = getLight(x, y);
+                sum[x * height + y] += delta;
+                if (getLight(x, y) != before && listener != null) {
+                    listener.lightChanged(x, y);
+                }
+            }
+        }
+    }
+}
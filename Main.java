@@ -1,11 +1,11 @@
-package application;
-
-/**
- * Main entry point - redirects to GameLauncher.
- */
-public class Main {
-    public static void main(String[] args) {
-        // Launch the actual game
-        GameLauncher.main(args);
-    }
+package application;
+
+/**
+ * Main entry point - redirects to GameLauncher.
+ */
+public class Main {
+    public static void main(String[] args) {
+        // Launch the actual game
+        GameLauncher.main(args);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,262 @@
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of counters, gauges and latency histograms.
+ * Metrics are registered once, usually into static finals of the class that
+ * updates them, and updating one is a striped add or an atomic increment:
+ * no locks, no allocation. Every GameLogic in the process (including
+ * SimulationFarm sessions) adds to the same metrics.
+ *
+ * Names follow Prometheus conventions (pkp_ prefix, counters end in _total,
+ * durations are in seconds). MetricsExporter publishes the registry over
+ * JMX and, optionally, as Prometheus text on localhost.
+ */
+public final class Metrics {
+
+    /**
+     * Kind of metric, as written in the exposition TYPE line.
+     */
+    public enum Type {
+        COUNTER, GAUGE, HISTOGRAM
+    }
+    
+    // Standard latency buckets, in seconds
+    public static final double[] LATENCY_BUCKETS = {
+        0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1
+    };
+    
+    private static final List<Family> FAMILIES = new CopyOnWriteArrayList<>();
+    
+    private Metrics() { }
+    
+    // ==================== METRIC TYPES ====================
+    
+    /**
+     * One labeled child of a family (labels is "" or {@code key="value"}).
+     */
+    public abstract static class Metric {
+        final String labels;
+        
+        Metric(String labels) {
+            this.labels = labels;
+        }
+        
+        public String getLabels() { return labels; }
+    }
+    
+    /**
+     * Monotonic count of events.
+     */
+    public static final class Counter extends Metric {
+        private final LongAdder value = new LongAdder();
+        
+        Counter(String labels) {
+            super(labels);
+        }
+        
+        public void increment() { value.increment(); }
+        public void add(long amount) { value.add(amount); }
+        public long get() { return value.sum(); }
+    }
+    
+    /**
+     * Current value of something, set by its owner.
+     */
+    public static final class Gauge extends Metric {
+        private volatile long value;
+        
+        Gauge(String labels) {
+            super(labels);
+        }
+        
+        public void set(long value) { this.value = value; }
+        public long get() { return value; }
+    }
+    
+    /**
+     * Distribution of durations over fixed buckets. Records nanoseconds and
+     * exports seconds; the last bucket catches everything above the bounds.
+     */
+    public static final class Histogram extends Metric {
+        private final long[] boundsNanos;
+        private final double[] boundsSeconds;
+        private final AtomicLongArray counts;      // Per bucket, not cumulative
+        private final LongAdder sumNanos = new LongAdder();
+        
+        Histogram(String labels, double[] boundsSeconds) {
+            super(labels);
+            this.boundsSeconds = boundsSeconds.clone();
+            this.boundsNanos = new long[boundsSeconds.length];
+            for (int i = 0; i < boundsSeconds.length; i++) {
+                boundsNanos[i] = Math.round(boundsSeconds[i] * 1e9);
+                if (i > 0 && boundsNanos[i] <= boundsNanos[i - 1]) {
+                    throw new IllegalArgumentException("Bucket bounds must increase");
+                }
+            }
+            this.counts = new AtomicLongArray(boundsSeconds.length + 1);
+        }
+        
+        public void record(long nanos) {
+            int bucket = 0;
+            while (bucket < boundsNanos.length && nanos > boundsNanos[bucket]) {
+                bucket++;
+            }
+            counts.incrementAndGet(bucket);
+            sumNanos.add(nanos);
+        }
+        
+        public int getBucketCount() { return boundsNanos.length; }
+        public double getBound(int bucket) { return boundsSeconds[bucket]; }
+        
+        /**
+         * Observations at or below a bucket's bound; bucket getBucketCount()
+         * is everything.
+         */
+        public long getCumulativeCount(int bucket) {
+            long total = 0;
+            for (int i = 0; i <= bucket; i++) {
+                total += counts.get(i);
+            }
+            return total;
+        }
+        
+        public long getCount() { return getCumulativeCount(boundsNanos.length); }
+        public double getSumSeconds() { return sumNanos.sum() / 1e9; }
+    }
+    
+    /**
+     * Metrics sharing a name, help text and type.
+     */
+    public static final class Family {
+        final String name;
+        final String help;
+        final Type type;
+        final List<Metric> children;
+        
+        Family(String name, String help, Type type, List<Metric> children) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.children = children;
+        }
+        
+        public String getName() { return name; }
+        public String getHelp() { return help; }
+        public Type getType() { return type; }
+        public List<Metric> getChildren() { return children; }
+    }
+    
+    // ==================== REGISTRATION ====================
+    
+    public static Counter counter(String name, String help) {
+        Counter counter = new Counter("");
+        register(name, help, Type.COUNTER, counter);
+        return counter;
+    }
+    
+    /**
+     * Registers one counter per enum constant, labeled with its name.
+     * @return Counters indexed by ordinal
+     */
+    public static <E extends Enum<E>> Counter[] counters(String name, String help,
+                                                         String label, Class<E> keys) {
+        E[] constants = keys.getEnumConstants();
+        Counter[] counters = new Counter[constants.length];
+        for (E key : constants) {
+            counters[key.ordinal()] = new Counter(label + "=\"" + key.name() + "\"");
+        }
+        register(name, help, Type.COUNTER, counters);
+        return counters;
+    }
+    
+    public static Gauge gauge(String name, String help) {
+        Gauge gauge = new Gauge("");
+        register(name, help, Type.GAUGE, gauge);
+        return gauge;
+    }
+    
+    /**
+     * Registers a histogram.
+     * @param boundsSeconds Increasing upper bounds of the buckets
+     */
+    public static Histogram histogram(String name, String help, double[] boundsSeconds) {
+        Histogram histogram = new Histogram("", boundsSeconds);
+        register(name, help, Type.HISTOGRAM, histogram);
+        return histogram;
+    }
+    
+    private static synchronized void register(String name, String help, Type type, Metric... children) {
+        for (Family family : FAMILIES) {
+            if (family.name.equals(name)) {
+                throw new IllegalArgumentException("Metric already registered: " + name);
+            }
+        }
+        List<Metric> list = new ArrayList<>(children.length);
+        for (Metric child : children) {
+            list.add(child);
+        }
+        FAMILIES.add(new Family(name, help, type, list));
+    }
+    
+    /**
+     * Every family registered so far, in registration order.
+     */
+    public static List<Family> getFamilies() {
+        return FAMILIES;
+    }
+    
+    // ==================== EXPOSITION ====================
+    
+    /**
+     * Writes every metric in the Prometheus text format (version 0.0.4).
+     */
+    public static void writeText(StringBuilder out) {
+        for (Family family : FAMILIES) {
+            out.append("# HELP ").append(family.name).append(' ').append(family.help).append('\n');
+            out.append("# TYPE ").append(family.name).append(' ')
+               .append(family.type.name().toLowerCase(Locale.ROOT)).append('\n');
+            for (Metric metric : family.children) {
+                if (metric instanceof Counter) {
+                    sample(out, family.name, metric.labels, null, ((Counter) metric).get());
+                } else if (metric instanceof Gauge) {
+                    sample(out, family.name, metric.labels, null, ((Gauge) metric).get());
+                } else {
+                    Histogram histogram = (Histogram) metric;
+                    for (int i = 0; i < histogram.getBucketCount(); i++) {
+                        sample(out, family.name + "_bucket", metric.labels,
+                               "le=\"" + histogram.getBound(i) + "\"", histogram.getCumulativeCount(i));
+                    }
+                    sample(out, family.name + "_bucket", metric.labels, "le=\"+Inf\"", histogram.getCount());
+                    out.append(family.name).append("_sum");
+                    appendLabels(out, metric.labels, null);
+                    out.append(' ').append(histogram.getSumSeconds()).append('\n');
+                    sample(out, family.name + "_count", metric.labels, null, histogram.getCount());
+                }
+            }
+        }
+    }
+    
+    private static void sample(StringBuilder out, String name, String labels, String extra, long value) {
+        out.append(name);
+        appendLabels(out, labels, extra);
+        out.append(' ').append(value).append('\n');
+    }
+    
+    private static void appendLabels(StringBuilder out, String labels, String extra) {
+        boolean hasLabels = !labels.isEmpty();
+        if (!hasLabels && extra == null) return;
+        out.append('{').append(labels);
+        if (extra != null) {
+            if (hasLabels) out.append(',');
+            out.append(extra);
+        }
+        out.append('}');
+    }
+}
@@ -0,0 +1,178 @@
+package application;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * Publishes the Metrics registry for soak runs.
+ * Every sample is an attribute of the application:type=Metrics MBean, named
+ * like its Prometheus series (e.g. pkp_events_total{type="DAMAGE"}),
+ * so JConsole or any JMX client can read it. When a port is configured
+ * (METRICS_HTTP_PORT or -Dmetrics.port), the same samples are served as
+ * Prometheus text at http://127.0.0.1:port/metrics; the server only listens
+ * on the loopback address.
+ */
+public final class MetricsExporter implements DynamicMBean {
+    private static final String OBJECT_NAME = "application:type=Metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    
+    private static boolean beanRegistered;
+    private static HttpServer server;
+    private static ExecutorService executor;
+    
+    private MetricsExporter() { }
+    
+    // ==================== LIFECYCLE ====================
+    
+    /**
+     * Registers the MBean and starts the endpoint if a port is configured.
+     * Safe to call more than once.
+     */
+    public static synchronized void start() {
+        if (!beanRegistered) {
+            try {
+                MBeanServer beans = ManagementFactory.getPlatformMBeanServer();
+                beans.registerMBean(new MetricsExporter(), new ObjectName(OBJECT_NAME));
+                beanRegistered = true;
+            } catch (JMException e) {
+                GameLog.log(GameLog.Level.WARN, GameLog.Category.METRICS, "Could not register MBean: {}", e.toString());
+            }
+        }
+        
+        int port = Integer.getInteger("metrics.port", Constants.METRICS_HTTP_PORT);
+        if (port > 0 && server == null) {
+            try {
+                server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+                server.createContext("/metrics", exchange -> {
+                    StringBuilder text = new StringBuilder(4096);
+                    Metrics.writeText(text);
+                    byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                executor = Executors.newSingleThreadExecutor(task -> {
+                    Thread thread = new Thread(task, "metrics-http");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                server.setExecutor(executor);
+                server.start();
+                GameLog.log(GameLog.Level.INFO, GameLog.Category.METRICS, "Serving metrics on http://127.0.0.1:{}/metrics", port);
+            } catch (IOException e) {
+                server = null;
+                GameLog.log(GameLog.Level.WARN, GameLog.Category.METRICS, "Could not serve metrics ({}) on port {}",
+                            e.getMessage(), port);
+            }
+        }
+    }
+    
+    /**
+     * Stops the endpoint, whose dispatcher thread would otherwise keep the
+     * JVM alive. The MBean stays registered.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdown();
+            server = null;
+            executor = null;
+        }
+    }
+    
+    // ==================== MBEAN ====================
+    
+    /**
+     * Current value of every sample, keyed by series name.
+     */
+    private static Map<String, Object> snapshot() {
+        Map<String, Object> samples = new LinkedHashMap<>();
+        for (Metrics.Family family : Metrics.getFamilies()) {
+            for (Metrics.Metric metric : family.getChildren()) {
+                String labels = metric.getLabels().isEmpty() ? "" : "{" + metric.getLabels() + "}";
+                if (metric instanceof Metrics.Counter) {
+                    samples.put(family.getName() + labels, ((Metrics.Counter) metric).get());
+                } else if (metric instanceof Metrics.Gauge) {
+                    samples.put(family.getName() + labels, ((Metrics.Gauge) metric).get());
+                } else {
+                    Metrics.Histogram histogram = (Metrics.Histogram) metric;
+                    samples.put(family.getName() + "_count" + labels, histogram.getCount());
+                    samples.put(family.getName() + "_sum" + labels, histogram.getSumSeconds());
+                }
+            }
+        }
+        return samples;
+    }
+    
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Object value = snapshot().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value;
+    }
+    
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        Map<String, Object> samples = snapshot();
+        AttributeList list = new AttributeList();
+        for (String name : attributes) {
+            Object value = samples.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value));
+            }
+        }
+        return list;
+    }
+    
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+    
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+    
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+    
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Object> samples = snapshot();
+        MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[samples.size()];
+        int i = 0;
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            attributes[i++] = new MBeanAttributeInfo(sample.getKey(), sample.getValue().getClass().getName(),
+                                                     sample.getKey(), true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "Push Knight Peril metrics", attributes,
+                             null, new MBeanOperationInfo[0], null);
+    }
+}
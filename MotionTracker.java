@@ -0,0 +1,152 @@
+package application;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tracks previous and current cells of the player and enemies so the
+ * renderer can draw them between cells. Enemies move on simulation ticks and
+ * are interpolated by the fraction of the next tick that has elapsed; the
+ * player moves on input and slides over one tick's worth of time from the
+ * moment its move is seen. All state lives in reused primitive arrays,
+ * sorted by enemy id (enemies are appended in id order).
+ */
+public class MotionTracker {
+    private static final long TICK_NANOS = Constants.TICK_MILLIS * 1_000_000L;
+    
+    // Enemies alive at the last seen tick
+    private int[] ids = new int[64];
+    private int[] prevX = new int[64];
+    private int[] prevY = new int[64];
+    private int[] curX = new int[64];
+    private int[] curY = new int[64];
+    private Enemy[] refs = new Enemy[64];
+    private int count;
+    
+    // Scratch copy of the previous tick, swapped with the arrays above
+    private int[] oldIds = new int[64];
+    private int[] oldX = new int[64];
+    private int[] oldY = new int[64];
+    
+    private long trackedTick = -1;
+    private double alpha;
+    
+    // Player
+    private int playerPrevX, playerPrevY, playerCurX, playerCurY;
+    private long playerMoveStart;
+    private double playerProgress = 1.0;
+    
+    /**
+     * Samples the game once per frame.
+     * @param now AnimationTimer frame time in nanoseconds
+     */
+    public void update(GameLogic logic, long now) {
+        long tick = logic.getCurrentTick();
+        if (tick != trackedTick) {
+            // Snap instead of sliding after a rewind or the first sample
+            boolean snap = trackedTick < 0 || tick < trackedTick;
+            rollTick(logic.getEnemies(), snap);
+            trackedTick = tick;
+        }
+        alpha = logic.getTickAlpha();
+        
+        Player player = logic.getPlayer();
+        if (player.getX() != playerCurX || player.getY() != playerCurY) {
+            // Teleports and the first sample snap instead of sliding
+            boolean snap = Math.abs(player.getX() - playerCurX) + Math.abs(player.getY() - playerCurY) > 1;
+            playerPrevX = snap ? player.getX() : playerCurX;
+            playerPrevY = snap ? player.getY() : playerCurY;
+            playerCurX = player.getX();
+            playerCurY = player.getY();
+            playerMoveStart = now;
+        }
+        playerProgress = Math.min(1.0, (now - playerMoveStart) / (double) TICK_NANOS);
+    }
+    
+    /**
+     * Moves current positions to previous and samples the live enemies.
+     */
+    private void rollTick(List<Enemy> enemies, boolean snap) {
+        int[] swap = oldIds; oldIds = ids; ids = swap;
+        swap = oldX; oldX = curX; curX = swap;
+        swap = oldY; oldY = curY; curY = swap;
+        int oldCount = count;
+        
+        ensureCapacity(enemies.size());
+        count = 0;
+        int j = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.isDead()) continue;
+            
+            int id = enemy.getId();
+            while (j < oldCount && oldIds[j] < id) j++;
+            boolean known = !snap && j < oldCount && oldIds[j] == id;
+            
+            ids[count] = id;
+            curX[count] = enemy.getX();
+            curY[count] = enemy.getY();
+            prevX[count] = known ? oldX[j] : enemy.getX();
+            prevY[count] = known ? oldY[j] : enemy.getY();
+            refs[count] = enemy;
+            count++;
+        }
+        Arrays.fill(refs, count, refs.length, null);
+    }
+    
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) return;
+        int capacity = Math.max(needed, ids.length * 2);
+        ids = Arrays.copyOf(ids, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        curX = Arrays.copyOf(curX, capacity);
+        curY = Arrays.copyOf(curY, capacity);
+        refs = Arrays.copyOf(refs, capacity);
+        oldIds = Arrays.copyOf(oldIds, capacity);
+        oldX = Arrays.copyOf(oldX, capacity);
+        oldY = Arrays.copyOf(oldY, capacity);
+    }
+    
+    // ==================== QUERIES ====================
+    
+    /**
+     * Number of tracked enemies; indices below are 0 to count - 1.
+     */
+    public int getEnemyCount() {
+        return count;
+    }
+    
+    public Enemy getEnemy(int i) {
+        return refs[i];
+    }
+    
+    /**
+     * Checks if an enemy is between cells this frame. Enemies that died or
+     * were pushed since the last tick snap to their cell instead.
+     */
+    public boolean isEnemyMoving(int i) {
+        if (alpha >= 1.0 || (prevX[i] == curX[i] && prevY[i] == curY[i])) return false;
+        Enemy enemy = refs[i];
+        return !enemy.isDead() && enemy.getX() == curX[i] && enemy.getY() == curY[i];
+    }
+    
+    /**
+     * Checks if the given enemy is drawn between cells this frame.
+     */
+    public boolean isEnemyMoving(Enemy enemy) {
+        int i = Arrays.binarySearch(ids, 0, count, enemy.getId());
+        return i >= 0 && refs[i] == enemy && isEnemyMoving(i);
+    }
+    
+    // Interpolated position in cells
+    public double getEnemyX(int i) { return prevX[i] + (curX[i] - prevX[i]) * alpha; }
+    public double getEnemyY(int i) { return prevY[i] + (curY[i] - prevY[i]) * alpha; }
+    
+    public boolean isPlayerMoving() {
+        return playerProgress < 1.0 && (playerPrevX != playerCurX || playerPrevY != playerCurY);
+    }
+    
+    public double getPlayerX() { return playerPrevX + (playerCurX - playerPrevX) * playerProgress; }
+    public double getPlayerY() { return playerPrevY + (playerCurY - playerPrevY) * playerProgress; }
+}
@@ -1,203 +1,259 @@
-package application;
-
-import java.util.*;
-
-/**
- * A* pathfinding algorithm for grid-based enemy AI.
- * Finds optimal paths around obstacles to reach the player.
- */
-public class Pathfinder {
-    
-    /**
-     * Node class for A* pathfinding.
-     */
-    private static class Node implements Comparable<Node> {
-        int x, y;                   // Grid position
-        Node parent;                // Parent node in path
-        double gCost;               // Cost from start
-        double hCost;               // Heuristic cost to goal
-        double fCost;               // Total cost (g + h)
-        
-        Node(int x, int y) {
-            this.x = x;
-            this.y = y;
-            this.parent = null;
-            this.gCost = 0;
-            this.hCost = 0;
-            this.fCost = 0;
-        }
-        
-        void calculateFCost() {
-            fCost = gCost + hCost;
-        }
-        
-        @Override
-        public int compareTo(Node other) {
-            return Double.compare(this.fCost, other.fCost);
-        }
-        
-        @Override
-        public boolean equals(Object obj) {
-            if (!(obj instanceof Node)) return false;
-            Node other = (Node) obj;
-            return this.x == other.x && this.y == other.y;
-        }
-        
-        @Override
-        public int hashCode() {
-            return x * 1000 + y;
-        }
-    }
-    
-    /**
-     * Gets the next move direction for an enemy using A* pathfinding.
-     * @param startX Enemy's current X position
-     * @param startY Enemy's current Y position
-     * @param targetX Player's X position
-     * @param targetY Player's Y position
-     * @param grid Game grid (0=empty, 1=wall, 2=enemy, 3=spikes, 4=campfire)
-     * @return Array [dirX, dirY] where each is -1, 0, or 1, or null if no path
-     */
-    public int[] getNextMove(int startX, int startY, int targetX, int targetY, int[][] grid) {
-        List<Node> path = findPath(startX, startY, targetX, targetY, grid);
-        
-        if (path == null || path.size() < 2) {
-            return null; // No path found or already at target
-        }
-        
-        // Get the next step in the path (index 1, since index 0 is current position)
-        Node nextStep = path.get(1);
-        
-        // Calculate direction
-        int dirX = Integer.compare(nextStep.x, startX);
-        int dirY = Integer.compare(nextStep.y, startY);
-        
-        return new int[]{dirX, dirY};
-    }
-    
-    /**
-     * Finds a path using A* algorithm.
-     * @param startX Start X position
-     * @param startY Start Y position
-     * @param targetX Target X position
-     * @param targetY Target Y position
-     * @param grid Game grid
-     * @return List of nodes forming the path, or null if no path exists
-     */
-    private List<Node> findPath(int startX, int startY, int targetX, int targetY, int[][] grid) {
-        int width = grid.length;
-        int height = grid[0].length;
-        
-        // Initialize open and closed sets
-        PriorityQueue<Node> openSet = new PriorityQueue<>();
-        Set<Node> closedSet = new HashSet<>();
-        Map<String, Node> allNodes = new HashMap<>();
-        
-        // Create start node
-        Node startNode = new Node(startX, startY);
-        startNode.gCost = 0;
-        startNode.hCost = heuristic(startX, startY, targetX, targetY);
-        startNode.calculateFCost();
-        
-        openSet.add(startNode);
-        allNodes.put(startX + "," + startY, startNode);
-        
-        // A* main loop
-        int maxIterations = 500; // Prevent infinite loops
-        int iterations = 0;
-        
-        while (!openSet.isEmpty() && iterations < maxIterations) {
-            iterations++;
-            
-            // Get node with lowest f cost
-            Node current = openSet.poll();
-            closedSet.add(current);
-            
-            // Check if reached goal
-            if (current.x == targetX && current.y == targetY) {
-                return reconstructPath(current);
-            }
-            
-            // Check all neighbors (4-directional movement)
-            int[][] directions = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}}; // Up, Down, Left, Right
-            
-            for (int[] dir : directions) {
-                int neighborX = current.x + dir[0];
-                int neighborY = current.y + dir[1];
-                
-                // Check bounds
-                if (neighborX < 0 || neighborX >= width || neighborY < 0 || neighborY >= height) {
-                    continue;
-                }
-                
-                // Check if walkable (enemies can walk through campfires but not walls/spikes)
-                int tileType = grid[neighborX][neighborY];
-                if (tileType == 1 || tileType == 3) { // Wall or Spikes
-                    continue;
-                }
-                
-                // Create neighbor node
-                String key = neighborX + "," + neighborY;
-                Node neighbor = allNodes.get(key);
-                
-                if (neighbor == null) {
-                    neighbor = new Node(neighborX, neighborY);
-                    allNodes.put(key, neighbor);
-                }
-                
-                // Skip if in closed set
-                if (closedSet.contains(neighbor)) {
-                    continue;
-                }
-                
-                // Calculate costs
-                double tentativeGCost = current.gCost + 1; // Each step costs 1
-                
-                // If this path is better or node not in open set
-                if (tentativeGCost < neighbor.gCost || !openSet.contains(neighbor)) {
-                    neighbor.parent = current;
-                    neighbor.gCost = tentativeGCost;
-                    neighbor.hCost = heuristic(neighborX, neighborY, targetX, targetY);
-                    neighbor.calculateFCost();
-                    
-                    if (!openSet.contains(neighbor)) {
-                        openSet.add(neighbor);
-                    }
-                }
-            }
-        }
-        
-        // No path found
-        return null;
-    }
-    
-    /**
-     * Reconstructs the path from end node to start.
-     * @param endNode Final node in path
-     * @return List of nodes from start to end
-     */
-    private List<Node> reconstructPath(Node endNode) {
-        List<Node> path = new ArrayList<>();
-        Node current = endNode;
-        
-        while (current != null) {
-            path.add(current);
-            current = current.parent;
-        }
-        
-        Collections.reverse(path);
-        return path;
-    }
-    
-    /**
-     * Heuristic function (Manhattan distance for grid-based movement).
-     * @param x1 Start X
-     * @param y1 Start Y
-     * @param x2 End X
-     * @param y2 End Y
-     * @return Estimated distance
-     */
-    private double heuristic(int x1, int y1, int x2, int y2) {
-        return Math.abs(x2 - x1) + Math.abs(y2 - y1);
-    }
-}
\ No newline at end of file
+package application;
+
+import java.util.Arrays;
+
+/**
+ * A* pathfinding algorithm for grid-based enemy AI.
+ * Finds optimal paths around obstacles to reach the player.
+ *
+ * Each instance owns a reusable search workspace (cost, parent and open-set
+ * arrays), so searches do not allocate per node. An instance is not
+ * thread-safe; parallel callers should each use their own Pathfinder.
+ */
+public class Pathfinder {
+    private static final int MAX_ITERATIONS = 500; // Prevent runaway searches
+    
+    // Searches run and cells expanded by all instances
+    private static final Metrics.Counter SEARCHES = Metrics.counter(
+        "pkp_path_searches_total", "A* searches run by all pathfinders");
+    private static final Metrics.Counter NODES = Metrics.counter(
+        "pkp_path_nodes_expanded_total", "Cells closed by A* searches");
+    
+    // Open-set keys pack (fCost, insertion order, cell) into one long
+    private static final int CELL_BITS = 21;
+    private static final int ORDER_BITS = 21;
+    private static final long CELL_MASK = (1L << CELL_BITS) - 1;
+    private static final long ORDER_MASK = (1L << ORDER_BITS) - 1;
+    
+    // Direction offsets: Up, Down, Left, Right
+    private static final int[] DIR_X = {0, 0, -1, 1};
+    private static final int[] DIR_Y = {-1, 1, 0, 0};
+    
+    // Search workspace (sized to the grid, reused between searches)
+    private int width, height;
+    private int[] gCost;                 // Cost from start per cell
+    private int[] parent;                // Parent cell per cell (-1 for start)
+    private int[] visitStamp;            // Search id that last touched a cell
+    private int[] closedStamp;           // Search id that closed a cell
+    private long[] openHeap;             // Binary heap of packed keys
+    private int openSize;
+    private int searchId;
+    private int expanded;                // Cells closed by the last search
+    
+    /**
+     * Gets the next move direction for an enemy using A* pathfinding.
+     * @param startX Enemy's current X position
+     * @param startY Enemy's current Y position
+     * @param targetX Player's X position
+     * @param targetY Player's Y position
+     * @param grid Game grid (0=empty, 1=wall, 2=enemy, 3=spikes, 4=campfire)
+     * @return Array [dirX, dirY] where each is -1, 0, or 1, or null if no path
+     */
+    public int[] getNextMove(int startX, int startY, int targetX, int targetY, int[][] grid) {
+        int end = findPath(startX, startY, targetX, targetY, grid);
+        
+        if (end < 0) {
+            return null; // No path found
+        }
+        
+        int start = startX * height + startY;
+        if (end == start) {
+            return null; // Already at target
+        }
+        
+        // Walk back to the step right after the start cell
+        int step = end;
+        while (parent[step] != start) {
+            step = parent[step];
+        }
+        
+        // Calculate direction
+        int dirX = Integer.compare(step / height, startX);
+        int dirY = Integer.compare(step % height, startY);
+        
+        return new int[]{dirX, dirY};
+    }
+    
+    /**
+     * Runs A* from start to target, counting it and recording a flight
+     * event when enabled.
+     * @return Target cell index, or -1 if no path exists
+     */
+    private int findPath(int startX, int startY, int targetX, int targetY, int[][] grid) {
+        FlightEvents.PathSearch event = new FlightEvents.PathSearch();
+        event.begin();
+        int end = search(startX, startY, targetX, targetY, grid);
+        NODES.add(expanded);
+        if (event.shouldCommit()) {
+            event.startX = startX;
+            event.startY = startY;
+            event.targetX = targetX;
+            event.targetY = targetY;
+            event.nodesExpanded = expanded;
+            event.found = end >= 0;
+            event.commit();
+        }
+        return end;
+    }
+    
+    private int search(int startX, int startY, int targetX, int targetY, int[][] grid) {
+        ensureWorkspace(grid.length, grid[0].length);
+        SEARCHES.increment();
+        
+        if (++searchId == Integer.MAX_VALUE) {
+            resetStamps();
+        }
+        openSize = 0;
+        long order = 0;
+        
+        int start = startX * height + startY;
+        int target = targetX * height + targetY;
+        
+        gCost[start] = 0;
+        parent[start] = -1;
+        visitStamp[start] = searchId;
+        push(heuristic(startX, startY, targetX, targetY), order++, start);
+        
+        // A* main loop
+        int iterations = 0;
+        
+        while (openSize > 0 && iterations < MAX_ITERATIONS) {
+            long key = pop();
+            int current = (int) (key & CELL_MASK);
+            
+            // Skip stale heap entries for cells already closed
+            if (closedStamp[current] == searchId) continue;
+            closedStamp[current] = searchId;
+            iterations++;
+            
+            // Check if reached goal
+            if (current == target) {
+                expanded = iterations;
+                return current;
+            }
+            
+            int cx = current / height;
+            int cy = current % height;
+            
+            for (int d = 0; d < 4; d++) {
+                int neighborX = cx + DIR_X[d];
+                int neighborY = cy + DIR_Y[d];
+                
+                // Check bounds
+                if (neighborX < 0 || neighborX >= width || neighborY < 0 || neighborY >= height) {
+                    continue;
+                }
+                
+                // Check if walkable (enemies can walk through campfires but not walls/spikes)
+                int tileType = grid[neighborX][neighborY];
+                if (tileType == 1 || tileType == 3) { // Wall or Spikes
+                    continue;
+                }
+                
+                int neighbor = neighborX * height + neighborY;
+                if (closedStamp[neighbor] == searchId) {
+                    continue;
+                }
+                
+                // Each step costs 1
+                int tentativeGCost = gCost[current] + 1;
+                
+                if (visitStamp[neighbor] != searchId || tentativeGCost < gCost[neighbor]) {
+                    visitStamp[neighbor] = searchId;
+                    gCost[neighbor] = tentativeGCost;
+                    parent[neighbor] = current;
+                    
+                    int fCost = tentativeGCost + heuristic(neighborX, neighborY, targetX, targetY);
+                    push(fCost, order++, neighbor);
+                }
+            }
+        }
+        
+        // No path found
+        expanded = iterations;
+        return -1;
+    }
+    
+    /**
+     * Allocates the workspace when the grid size changes.
+     */
+    private void ensureWorkspace(int gridWidth, int gridHeight) {
+        if (gCost != null && gridWidth == width && gridHeight == height) return;
+        
+        width = gridWidth;
+        height = gridHeight;
+        int cells = width * height;
+        gCost = new int[cells];
+        parent = new int[cells];
+        visitStamp = new int[cells];
+        closedStamp = new int[cells];
+        openHeap = new long[Math.max(16, cells)];
+        searchId = 0;
+    }
+    
+    private void resetStamps() {
+        Arrays.fill(visitStamp, 0);
+        Arrays.fill(closedStamp, 0);
+        searchId = 1;
+    }
+    
+    private void push(int fCost, long order, int cell) {
+        if (openSize == openHeap.length) {
+            openHeap = Arrays.copyOf(openHeap, openSize * 2);
+        }
+        
+        long key = ((long) fCost << (CELL_BITS + ORDER_BITS))
+                 | ((order & ORDER_MASK) << CELL_BITS)
+                 | cell;
+        
+        int index = openSize++;
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            if (openHeap[parentIndex] <= key) break;
+            openHeap[index] = openHeap[parentIndex];
+            index = parentIndex;
+        }
+        openHeap[index] = key;
+    }
+    
+    private long pop() {
+        long result = openHeap[0];
+        long last = openHeap[--openSize];
+        
+        int index = 0;
+        while (true) {
+            int child = index * 2 + 1;
+            if (child >= openSize) break;
+            if (child + 1 < openSize && openHeap[child + 1] < openHeap[child]) {
+                child++;
+            }
+            if (last <= openHeap[child]) break;
+            openHeap[index] = openHeap[child];
+            index = child;
+        }
+        if (openSize > 0) {
+            openHeap[index] = last;
+        }
+        
+        return result;
+    }
+    
+    /**
+     * Heuristic function (Manhattan distance for grid-based movement).
+     * @param x1 Start X
+     * @param y1 Start Y
+     * @param x2 End X
+     * @param y2 End Y
+     * @return Estimated distance
+     */
+    private int heuristic(int x1, int y1, int x2, int y2) {
+        return Math.abs(x2 - x1) + Math.abs(y2 - y1);
+    }
+    
+    /**
+     * Total searches run by all pathfinders since startup.
+     */
+    public static long getSearchCount() {
+        return SEARCHES.get();
+    }
+}
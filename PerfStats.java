@@ -0,0 +1,175 @@
+package application;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * Frame and tick counters for the performance overlay.
+ * Recording only adds into preallocated primitive fields and arrays (no
+ * locks, no allocation), so it can stay on without skewing what it
+ * measures. Once per second the raw counters are folded into the values
+ * shown by the overlay.
+ */
+public class PerfStats {
+    // Tick phases
+    public static final int PHASE_PLAYER = 0;
+    public static final int PHASE_TRAPS = 1;
+    public static final int PHASE_AI = 2;
+    public static final int PHASE_SPAWN = 3;
+    public static final int PHASE_ENVIRONMENT = 4;
+    public static final int PHASE_COUNT = 5;
+    private static final String[] PHASE_NAMES = {"player", "traps", "ai", "spawn", "env"};
+    
+    private static final int FRAME_SAMPLES = 256;
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+    
+    // Raw counters for the current window
+    private final long[] phaseNanos = new long[PHASE_COUNT];
+    private long ticks;
+    private long frames;
+    private long events;
+    private final long[] frameNanos = new long[FRAME_SAMPLES];   // Ring of recent frame times
+    private final long[] sortScratch = new long[FRAME_SAMPLES];
+    private int frameSamples;
+    private int frameIndex;
+    private long lastFrame;
+    private long windowStart;
+    private long windowSearches;
+    private long windowAllocated;
+    
+    // Allocation counter of the thread calling recordFrame (HotSpot only)
+    private final com.sun.management.ThreadMXBean threadBean;
+    
+    // Values from the last finished window
+    private double fps;
+    private double frameP50, frameP95, frameP99;                 // Milliseconds
+    private final double[] phaseMillisPerTick = new double[PHASE_COUNT];
+    private double searchesPerSecond;
+    private double eventsPerTick;
+    private double allocatedMBPerSecond = -1;
+    private long windowsCompleted;
+    
+    public PerfStats() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threadBean = bean instanceof com.sun.management.ThreadMXBean
+                   ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+    
+    // ==================== RECORDING ====================
+    
+    /**
+     * Adds time spent in a tick phase.
+     */
+    public void addPhaseNanos(int phase, long nanos) {
+        phaseNanos[phase] += nanos;
+    }
+    
+    public void endTick() {
+        ticks++;
+    }
+    
+    public void addEvents(int count) {
+        events += count;
+    }
+    
+    /**
+     * Records a rendered frame and rolls the window once a second has passed.
+     * @param now Frame time in nanoseconds
+     * @return True if a new window finished and the shown values changed
+     */
+    public boolean recordFrame(long now) {
+        if (lastFrame != 0) {
+            frameNanos[frameIndex] = now - lastFrame;
+            frameIndex = (frameIndex + 1) % FRAME_SAMPLES;
+            frameSamples = Math.min(frameSamples + 1, FRAME_SAMPLES);
+        } else {
+            windowStart = now;
+            windowSearches = Pathfinder.getSearchCount();
+            windowAllocated = allocatedBytes();
+        }
+        lastFrame = now;
+        frames++;
+        
+        if (now - windowStart < WINDOW_NANOS) {
+            return false;
+        }
+        finishWindow(now);
+        return true;
+    }
+    
+    private void finishWindow(long now) {
+        double seconds = (now - windowStart) / 1e9;
+        fps = frames / seconds;
+        
+        // Frame-time percentiles over the recent samples
+        System.arraycopy(frameNanos, 0, sortScratch, 0, frameSamples);
+        Arrays.sort(sortScratch, 0, frameSamples);
+        frameP50 = percentile(0.50);
+        frameP95 = percentile(0.95);
+        frameP99 = percentile(0.99);
+        
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            phaseMillisPerTick[i] = ticks > 0 ? phaseNanos[i] / 1e6 / ticks : 0;
+            phaseNanos[i] = 0;
+        }
+        eventsPerTick = ticks > 0 ? events / (double) ticks : 0;
+        
+        long searches = Pathfinder.getSearchCount();
+        searchesPerSecond = (searches - windowSearches) / seconds;
+        windowSearches = searches;
+        
+        long allocated = allocatedBytes();
+        allocatedMBPerSecond = allocated >= 0 && windowAllocated >= 0
+                             ? (allocated - windowAllocated) / seconds / (1024 * 1024) : -1;
+        windowAllocated = allocated;
+        
+        frames = 0;
+        ticks = 0;
+        events = 0;
+        windowStart = now;
+        windowsCompleted++;
+    }
+    
+    private double percentile(double p) {
+        if (frameSamples == 0) return 0;
+        int index = Math.min(frameSamples - 1, (int) Math.ceil(p * frameSamples) - 1);
+        return sortScratch[Math.max(0, index)] / 1e6;
+    }
+    
+    private long allocatedBytes() {
+        if (threadBean == null || !threadBean.isThreadAllocatedMemoryEnabled()) return -1;
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    // ==================== RESULTS ====================
+    
+    /**
+     * Writes the last window's values as overlay text.
+     */
+    public void format(StringBuilder out, int aliveEnemies) {
+        out.setLength(0);
+        out.append(String.format("FPS %.0f  frame p50 %.1f / p95 %.1f / p99 %.1f ms%n",
+                                 fps, frameP50, frameP95, frameP99));
+        out.append("tick ms:");
+        for (int i = 0; i < PHASE_COUNT; i++) {
+            out.append(String.format(" %s %.3f", PHASE_NAMES[i], phaseMillisPerTick[i]));
+        }
+        out.append(String.format("%npaths/s %.0f  events/tick %.1f  alive %d%n",
+                                 searchesPerSecond, eventsPerTick, aliveEnemies));
+        if (allocatedMBPerSecond >= 0) {
+            out.append(String.format("alloc %.2f MB/s (FX thread)", allocatedMBPerSecond));
+        } else {
+            out.append("alloc n/a");
+        }
+    }
+    
+    public double getFps() { return fps; }
+    public double getFrameP50() { return frameP50; }
+    public double getFrameP95() { return frameP95; }
+    public double getFrameP99() { return frameP99; }
+    public double getPhaseMillisPerTick(int phase) { return phaseMillisPerTick[phase]; }
+    public double getSearchesPerSecond() { return searchesPerSecond; }
+    public double getEventsPerTick() { return eventsPerTick; }
+    public double getAllocatedMBPerSecond() { return allocatedMBPerSecond; }
+    public long getWindowsCompleted() { return windowsCompleted; }
+}
@@ -0,0 +1,296 @@
+package application;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Headless rendering benchmark for GamePanel.
+ * Each scenario drives a seeded GameLogic through a fixed script and renders
+ * every frame through GamePanel.renderFrame followed by a synchronous scene
+ * snapshot (CSS, layout and rasterization), on a synthetic 60 Hz clock. The
+ * same seed and script give the same frames on every run, so results are
+ * comparable between builds.
+ *
+ * Runs on the Monocle headless glass platform with the software pipeline
+ * when the Monocle jar is on the classpath; any explicit -Dglass.platform
+ * setting wins. Usage: RenderBenchmark [frames] [runs]
+ */
+public class RenderBenchmark {
+    private static final long SEED = 1234L;
+    private static final int LEVEL = 1;
+    private static final long FRAME_NANOS = 1_000_000_000L / 60;
+    
+    /**
+     * Scripted input for one scenario.
+     */
+    public interface Scenario {
+        String getName();
+        
+        /**
+         * Prepares the board before the first frame.
+         */
+        default void setUp(GameLogic logic) { }
+        
+        /**
+         * Advances the game before a frame is rendered.
+         */
+        void step(GameLogic logic, int frame);
+    }
+    
+    /**
+     * Measurements of one scenario run.
+     */
+    public static class Result {
+        public final String scenario;
+        public final String renderer;
+        public final int frames;
+        public final double meanPulseMs;
+        public final double p95PulseMs;
+        public final double maxPulseMs;
+        public final int nodes;
+        public final long bytesPerFrame;   // -1 if the JVM cannot tell
+        
+        Result(String scenario, String renderer, long[] pulseNanos, int nodes, long bytesPerFrame) {
+            this.scenario = scenario;
+            this.renderer = renderer;
+            this.frames = pulseNanos.length;
+            long[] sorted = pulseNanos.clone();
+            Arrays.sort(sorted);
+            long total = 0;
+            for (long nanos : sorted) total += nanos;
+            this.meanPulseMs = frames > 0 ? total / 1e6 / frames : 0;
+            this.p95PulseMs = frames > 0 ? sorted[Math.min(frames - 1, (int) Math.ceil(frames * 0.95) - 1)] / 1e6 : 0;
+            this.maxPulseMs = frames > 0 ? sorted[frames - 1] / 1e6 : 0;
+            this.nodes = nodes;
+            this.bytesPerFrame = bytesPerFrame;
+        }
+        
+        @Override
+        public String toString() {
+            return String.format("%-16s %-7s frames=%d pulse mean=%.3fms p95=%.3fms max=%.3fms nodes=%d alloc/frame=%s",
+                scenario, renderer, frames, meanPulseMs, p95PulseMs, maxPulseMs, nodes,
+                bytesPerFrame >= 0 ? bytesPerFrame + "B" : "n/a");
+        }
+    }
+    
+    // ==================== SCENARIOS ====================
+    
+    /**
+     * Fills the board with 100 enemies, then lets the wave play out.
+     */
+    public static Scenario wave(int enemies) {
+        return new Scenario() {
+            @Override
+            public String getName() { return "wave-" + enemies; }
+            
+            @Override
+            public void setUp(GameLogic logic) {
+                Random random = new Random(SEED);
+                Enemy.EnemyType[] types = Enemy.EnemyType.values();
+                int placed = 0;
+                for (int attempt = 0; placed < enemies && attempt < enemies * 50; attempt++) {
+                    int x = random.nextInt(GameLogic.GRID_WIDTH);
+                    int y = random.nextInt(GameLogic.GRID_HEIGHT);
+                    if (logic.spawnEnemy(types[random.nextInt(types.length)], x, y) != null) {
+                        placed++;
+                    }
+                }
+            }
+            
+            @Override
+            public void step(GameLogic logic, int frame) {
+                if (frame % 3 == 0) {
+                    logic.tick(); // 20 ticks per second at 60 frames per second
+                }
+            }
+        };
+    }
+    
+    /**
+     * Packs Boomer Goblins into a block and detonates one corner, so the
+     * explosion chains through the whole block in a single frame.
+     */
+    public static Scenario explosionChain() {
+        return new Scenario() {
+            private int firstX = -1, firstY = -1;
+            
+            @Override
+            public String getName() { return "explosion-chain"; }
+            
+            @Override
+            public void setUp(GameLogic logic) {
+                firstX = -1;
+                for (int x = 2; x < GameLogic.GRID_WIDTH - 2; x++) {
+                    for (int y = 2; y < GameLogic.GRID_HEIGHT - 2; y++) {
+                        if (logic.spawnEnemy(Enemy.EnemyType.BOOMER, x, y) != null && firstX < 0) {
+                            firstX = x;
+                            firstY = y;
+                        }
+                    }
+                }
+            }
+            
+            @Override
+            public void step(GameLogic logic, int frame) {
+                if (frame == 10 && firstX >= 0) {
+                    logic.destroyEnemyAt(firstX, firstY);
+                }
+                if (frame % 3 == 0) {
+                    logic.tick();
+                }
+            }
+        };
+    }
+    
+    /**
+     * Forces every cell to be redrawn on every frame.
+     */
+    public static Scenario fullRedraw() {
+        return new Scenario() {
+            @Override
+            public String getName() { return "full-redraw"; }
+            
+            @Override
+            public void step(GameLogic logic, int frame) {
+                logic.markAllDirty();
+            }
+        };
+    }
+    
+    // ==================== RUNNING ====================
+    
+    private final com.sun.management.ThreadMXBean threadBean;
+    
+    public RenderBenchmark() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        threadBean = bean instanceof com.sun.management.ThreadMXBean
+                   ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+    
+    /**
+     * Runs a scenario on the FX thread and waits for the result.
+     */
+    public Result run(Scenario scenario, boolean canvas, int frames) throws InterruptedException {
+        AtomicReference<Result> result = new AtomicReference<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        
+        Platform.runLater(() -> {
+            try {
+                result.set(runOnFxThread(scenario, canvas, frames));
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                done.countDown();
+            }
+        });
+        done.await();
+        
+        if (failure.get() != null) {
+            throw new IllegalStateException("Scenario " + scenario.getName() + " failed", failure.get());
+        }
+        return result.get();
+    }
+    
+    private Result runOnFxThread(Scenario scenario, boolean canvas, int frames) {
+        GameLogic logic = new GameLogic(LEVEL, SEED);
+        logic.getWatchdog().setAdaptive(false); // Keep cosmetics on for every run
+        GamePanel panel = new GamePanel(logic, canvas);
+        Scene scene = new Scene(panel.getGridView());
+        WritableImage target = new WritableImage(
+            (int) Math.ceil(scene.getRoot().prefWidth(-1)),
+            (int) Math.ceil(scene.getRoot().prefHeight(-1)));
+        
+        scenario.setUp(logic);
+        long now = FRAME_NANOS;
+        panel.renderFrame(now);
+        scene.snapshot(target);
+        
+        long[] pulseNanos = new long[frames];
+        long allocatedBefore = allocatedBytes();
+        for (int frame = 0; frame < frames; frame++) {
+            now += FRAME_NANOS;
+            scenario.step(logic, frame);
+            
+            long start = System.nanoTime();
+            panel.renderFrame(now);
+            scene.snapshot(target);
+            pulseNanos[frame] = System.nanoTime() - start;
+        }
+        long allocatedAfter = allocatedBytes();
+        
+        panel.dispose();
+        long bytesPerFrame = allocatedBefore >= 0 && allocatedAfter >= 0 && frames > 0
+                           ? (allocatedAfter - allocatedBefore) / frames : -1;
+        return new Result(scenario.getName(), canvas ? "canvas" : "nodes",
+                          pulseNanos, countNodes(scene.getRoot()), bytesPerFrame);
+    }
+    
+    private long allocatedBytes() {
+        if (threadBean == null || !threadBean.isThreadAllocatedMemoryEnabled()) return -1;
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+    
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Selects the headless platform unless one was chosen on the command line.
+     */
+    private static void configureHeadless() {
+        if (System.getProperty("glass.platform") == null) {
+            try {
+                Class.forName("com.sun.glass.ui.monocle.MonoclePlatformFactory");
+                System.setProperty("glass.platform", "Monocle");
+                System.setProperty("monocle.platform", "Headless");
+            } catch (ClassNotFoundException e) {
+                GameLog.log(GameLog.Level.WARN, GameLog.Category.BENCH, "Monocle not on the classpath; using the default platform (needs a display)");
+            }
+        }
+        if (System.getProperty("prism.order") == null) {
+            System.setProperty("prism.order", "sw");
+        }
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        int runs = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        
+        configureHeadless();
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        Platform.setImplicitExit(false);
+        
+        RenderBenchmark benchmark = new RenderBenchmark();
+        Scenario[] scenarios = {wave(100), explosionChain(), fullRedraw()};
+        boolean[] renderers = {false, true};
+        
+        for (Scenario scenario : scenarios) {
+            for (boolean canvas : renderers) {
+                // First run warms up the JIT and is not reported
+                benchmark.run(scenario, canvas, frames);
+                for (int i = 0; i < runs; i++) {
+                    GameLog.log(GameLog.Level.INFO, GameLog.Category.BENCH, "{}", benchmark.run(scenario, canvas, frames));
+                }
+            }
+        }
+        Platform.exit();
+        GameLog.flush();
+    }
+}
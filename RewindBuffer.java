@@ -0,0 +1,135 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * Bounded history of per-tick changes for the rewind ability.
+ * Each tick opens a frame holding a few scalar values (timers, random state)
+ * followed by UndoLog-style change records. Records and frames live in
+ * fixed-size rings, so memory stays constant: when either ring is full the
+ * oldest frame is dropped.
+ */
+public class RewindBuffer {
+    // Record ring (same columns as UndoLog)
+    private final int[] kinds;
+    private final int[] a, b, c;
+    private final long[] d;
+    private final Object[] refs;
+    private final int recordMask;
+    private long writePos;               // Total records written; ring index is writePos & mask
+    
+    // Frame ring
+    private final long[] frameStart;     // Record position where each frame begins
+    private final long[] frameState;     // stateSize scalars per frame
+    private final int stateSize;
+    private int newestFrame;
+    private int frameCount;
+    
+    /**
+     * Creates a buffer.
+     * @param maxFrames Ticks of history kept
+     * @param recordCapacity Change records kept (rounded up to a power of two)
+     * @param stateSize Scalars stored per frame
+     */
+    public RewindBuffer(int maxFrames, int recordCapacity, int stateSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, recordCapacity - 1)) << 1;
+        kinds = new int[capacity];
+        a = new int[capacity];
+        b = new int[capacity];
+        c = new int[capacity];
+        d = new long[capacity];
+        refs = new Object[capacity];
+        recordMask = capacity - 1;
+        
+        this.stateSize = stateSize;
+        frameStart = new long[maxFrames];
+        frameState = new long[maxFrames * stateSize];
+        newestFrame = maxFrames - 1;
+        frameCount = 0;
+    }
+    
+    /**
+     * Opens a new frame, copying the first stateSize values of state.
+     */
+    public void beginFrame(long[] state) {
+        if (frameCount == frameStart.length) {
+            dropOldestFrame();
+        }
+        newestFrame = (newestFrame + 1) % frameStart.length;
+        frameStart[newestFrame] = writePos;
+        System.arraycopy(state, 0, frameState, newestFrame * stateSize, stateSize);
+        frameCount++;
+    }
+    
+    /**
+     * Appends a change record to the newest frame. Dropped when no frame is open.
+     */
+    public void record(int kind, Object ref, int a, int b, int c, long d) {
+        if (frameCount == 0) return;
+        
+        while (writePos - oldestFrameStart() > recordMask) {
+            if (frameCount == 1) {
+                // A single tick outgrew the ring; it cannot be rewound
+                clear();
+                return;
+            }
+            dropOldestFrame();
+        }
+        
+        int index = (int) (writePos & recordMask);
+        kinds[index] = kind;
+        refs[index] = ref;
+        this.a[index] = a;
+        this.b[index] = b;
+        this.c[index] = c;
+        this.d[index] = d;
+        writePos++;
+    }
+    
+    /**
+     * Discards the newest frame's records and copies its scalars into stateOut.
+     * Callers undo the records (newestFrameStart() up to end()) first.
+     */
+    public void popFrame(long[] stateOut) {
+        System.arraycopy(frameState, newestFrame * stateSize, stateOut, 0, stateSize);
+        for (long pos = frameStart[newestFrame]; pos < writePos; pos++) {
+            refs[(int) (pos & recordMask)] = null;
+        }
+        writePos = frameStart[newestFrame];
+        newestFrame = (newestFrame - 1 + frameStart.length) % frameStart.length;
+        frameCount--;
+    }
+    
+    /**
+     * Drops all history.
+     */
+    public void clear() {
+        Arrays.fill(refs, null);
+        frameCount = 0;
+    }
+    
+    private void dropOldestFrame() {
+        long start = oldestFrameStart();
+        frameCount--;
+        long end = frameCount > 0 ? oldestFrameStart() : writePos;
+        for (long pos = start; pos < end; pos++) {
+            refs[(int) (pos & recordMask)] = null;
+        }
+    }
+    
+    private long oldestFrameStart() {
+        int oldest = (newestFrame - frameCount + 1 + frameStart.length) % frameStart.length;
+        return frameStart[oldest];
+    }
+    
+    // Frame and record accessors
+    public int getFrameCount() { return frameCount; }
+    public long newestFrameStart() { return frameStart[newestFrame]; }
+    public long end() { return writePos; }
+    public int kind(long pos) { return kinds[(int) (pos & recordMask)]; }
+    public Object ref(long pos) { return refs[(int) (pos & recordMask)]; }
+    public int a(long pos) { return a[(int) (pos & recordMask)]; }
+    public int b(long pos) { return b[(int) (pos & recordMask)]; }
+    public int c(long pos) { return c[(int) (pos & recordMask)]; }
+    public long d(long pos) { return d[(int) (pos & recordMask)]; }
+}
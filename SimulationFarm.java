@@ -0,0 +1,301 @@
+package application;
+
+import java.lang.reflect.Method;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs many independent headless GameLogic sessions at once for balancing
+ * and regression runs. Sessions run on virtual threads when the runtime
+ * provides them, otherwise on a bounded pool of carrier threads, and each
+ * finished run is folded into a running aggregate that is streamed to a
+ * listener as results arrive.
+ */
+public class SimulationFarm {
+    private static final int MOVE_INTERVAL_TICKS = 3;     // 150 ms, matches launcher input throttle
+    private static final int YIELD_INTERVAL_TICKS = 256;  // Lets other sessions share carriers
+    
+    /**
+     * Decides the bot's move for the current step.
+     * Policies may keep state, so use one instance per session.
+     */
+    public interface BotPolicy {
+        /**
+         * @return Direction [dirX, dirY] or null to stand still
+         */
+        int[] chooseMove(GameLogic logic);
+    }
+    
+    /**
+     * Description of one run.
+     */
+    public static class Session {
+        public final int levelNumber;    // 0 = endless
+        public final long seed;
+        public final BotPolicy policy;
+        public final int maxTicks;       // Cut-off for runs that never end
+        
+        public Session(int levelNumber, long seed, BotPolicy policy, int maxTicks) {
+            this.levelNumber = levelNumber;
+            this.seed = seed;
+            this.policy = policy;
+            this.maxTicks = maxTicks;
+        }
+    }
+    
+    /**
+     * Outcome of one finished run.
+     */
+    public static class Result {
+        public final int levelNumber;
+        public final long seed;
+        public final int waveReached;
+        public final int enemiesDefeated;
+        public final int ticks;
+        public final int damageTaken;
+        public final boolean victory;
+        public final boolean survived;   // Still alive when the run ended
+        
+        Result(int levelNumber, long seed, int waveReached, int enemiesDefeated,
+               int ticks, int damageTaken, boolean victory, boolean survived) {
+            this.levelNumber = levelNumber;
+            this.seed = seed;
+            this.waveReached = waveReached;
+            this.enemiesDefeated = enemiesDefeated;
+            this.ticks = ticks;
+            this.damageTaken = damageTaken;
+            this.victory = victory;
+            this.survived = survived;
+        }
+    }
+    
+    /**
+     * Immutable snapshot of the totals over all finished runs.
+     */
+    public static class Aggregate {
+        public final int runs;
+        public final int victories;
+        public final int deaths;
+        public final int maxWave;
+        public final long totalWaves;
+        public final long totalDefeated;
+        public final long totalTicks;
+        public final long totalDamage;
+        
+        Aggregate(int runs, int victories, int deaths, int maxWave, long totalWaves,
+                  long totalDefeated, long totalTicks, long totalDamage) {
+            this.runs = runs;
+            this.victories = victories;
+            this.deaths = deaths;
+            this.maxWave = maxWave;
+            this.totalWaves = totalWaves;
+            this.totalDefeated = totalDefeated;
+            this.totalTicks = totalTicks;
+            this.totalDamage = totalDamage;
+        }
+        
+        public double averageWave() { return runs == 0 ? 0 : (double) totalWaves / runs; }
+        public double averageDefeated() { return runs == 0 ? 0 : (double) totalDefeated / runs; }
+        public double averageTicks() { return runs == 0 ? 0 : (double) totalTicks / runs; }
+        public double averageDamage() { return runs == 0 ? 0 : (double) totalDamage / runs; }
+        
+        @Override
+        public String toString() {
+            return String.format("runs=%d victories=%d deaths=%d avgWave=%.2f maxWave=%d " +
+                                 "avgDefeated=%.1f avgTicks=%.0f avgDamage=%.2f",
+                                 runs, victories, deaths, averageWave(), maxWave,
+                                 averageDefeated(), averageTicks(), averageDamage());
+        }
+    }
+    
+    private final ExecutorService executor;
+    private final Semaphore admission;   // Bounds sessions held in memory at once
+    private final Consumer<Aggregate> progressListener;
+    
+    // Running totals (guarded by this)
+    private int runs;
+    private int victories;
+    private int deaths;
+    private int maxWave;
+    private long totalWaves;
+    private long totalDefeated;
+    private long totalTicks;
+    private long totalDamage;
+    
+    /**
+     * Creates a farm.
+     * @param maxConcurrentSessions Upper bound on sessions alive at once
+     * @param progressListener Receives the aggregate after every finished run, or null
+     */
+    public SimulationFarm(int maxConcurrentSessions, Consumer<Aggregate> progressListener) {
+        this.executor = createExecutor(Runtime.getRuntime().availableProcessors());
+        this.admission = new Semaphore(maxConcurrentSessions);
+        this.progressListener = progressListener;
+    }
+    
+    /**
+     * Uses one virtual thread per session when available (Java 21+),
+     * otherwise a fixed pool of daemon carrier threads.
+     */
+    private static ExecutorService createExecutor(int carrierThreads) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(carrierThreads, runnable -> {
+                Thread thread = new Thread(runnable, "simulation-farm");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+    
+    /**
+     * Schedules a session.
+     */
+    public CompletableFuture<Result> submit(Session session) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return run(session);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+    
+    /**
+     * Stops accepting sessions and waits for the submitted ones to finish.
+     */
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Runs a single session to completion.
+     */
+    private Result run(Session session) throws InterruptedException {
+        admission.acquire();
+        try {
+            GameLogic logic = new GameLogic(session.levelNumber, session.seed);
+            logic.getWatchdog().setAdaptive(false); // Keep runs reproducible
+            Player player = logic.getPlayer();
+            int ticks = 0;
+            
+            while (ticks < session.maxTicks && player.isAlive() && !logic.isLevelComplete()) {
+                logic.tick();
+                
+                if (ticks % MOVE_INTERVAL_TICKS == 0) {
+                    int[] move = session.policy.chooseMove(logic);
+                    if (move != null) {
+                        logic.attemptMove(move[0], move[1]);
+                    }
+                }
+                
+                // Nobody subscribes in headless runs, so this only drains
+                logic.flushEvents();
+                
+                ticks++;
+                if (ticks % YIELD_INTERVAL_TICKS == 0) {
+                    Thread.yield();
+                }
+            }
+            
+            Result result = new Result(
+                session.levelNumber, session.seed,
+                logic.getSpawnSystem().getCurrentWave(), logic.getEnemiesDefeated(),
+                ticks, player.getDamageTaken(), logic.isLevelComplete(), player.isAlive()
+            );
+            record(result);
+            return result;
+        } finally {
+            admission.release();
+        }
+    }
+    
+    /**
+     * Folds a result into the totals and streams the new aggregate.
+     */
+    private void record(Result result) {
+        Aggregate snapshot;
+        synchronized (this) {
+            runs++;
+            if (result.victory) victories++;
+            if (!result.survived) deaths++;
+            maxWave = Math.max(maxWave, result.waveReached);
+            totalWaves += result.waveReached;
+            totalDefeated += result.enemiesDefeated;
+            totalTicks += result.ticks;
+            totalDamage += result.damageTaken;
+            snapshot = snapshotLocked();
+        }
+        
+        if (progressListener != null) {
+            progressListener.accept(snapshot);
+        }
+    }
+    
+    /**
+     * Gets the aggregate over all runs finished so far.
+     */
+    public synchronized Aggregate getAggregate() {
+        return snapshotLocked();
+    }
+    
+    private Aggregate snapshotLocked() {
+        return new Aggregate(runs, victories, deaths, maxWave, totalWaves,
+                             totalDefeated, totalTicks, totalDamage);
+    }
+    
+    // ==================== BUILT-IN POLICIES ====================
+    
+    /**
+     * Bot that never moves.
+     */
+    public static BotPolicy idle() {
+        return logic -> null;
+    }
+    
+    /**
+     * Bot that walks (and pushes) in a random direction each move.
+     */
+    public static BotPolicy randomWalk(long seed) {
+        Random random = new Random(seed);
+        int[][] directions = {{0, -1}, {0, 1}, {-1, 0}, {1, 0}};
+        return logic -> directions[random.nextInt(directions.length)];
+    }
+    
+    /**
+     * Runs a batch from the command line.
+     * Usage: SimulationFarm [sessions] [level] [maxTicks]
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int level = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int maxTicks = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+        int reportEvery = Math.max(1, sessions / 10);
+        MetricsExporter.start();
+        
+        SimulationFarm farm = new SimulationFarm(10000, aggregate -> {
+            if (aggregate.runs % reportEvery == 0) {
+                GameLog.log(GameLog.Level.INFO, GameLog.Category.FARM, "{}", aggregate.toString());
+            }
+        });
+        
+        for (int i = 0; i < sessions; i++) {
+            farm.submit(new Session(level, i, randomWalk(i), maxTicks));
+        }
+        farm.shutdown();
+        
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.FARM, "Final: {}", farm.getAggregate().toString());
+        MetricsExporter.stop();
+        GameLog.flush();
+    }
+}
@@ -1,315 +1,393 @@
-package application;
-
-import java.util.*;
-
-/**
- * Manages wave-based enemy spawning for endless survival mode.
- * Implements difficulty progression and spawn rate management.
- */
-public class SpawnSystem {
-    // Wave management
-    private int currentWave;
-    private int totalWaves;              // For level-based mode
-    private boolean endlessMode;         // Endless vs level-based
-    private double waveDelay;            // Delay between waves
-    private double waveDelayTimer;
-    private boolean waveActive;
-    
-    // Spawning
-    private int enemiesPerWave;
-    private int enemiesSpawned;
-    private int enemiesDefeated;
-    private double spawnTimer;
-    private double spawnRate;            // Time between spawns
-    private List<SpawnPoint> spawnPoints;
-    private Random random;
-    
-    // Level configuration
-    private int levelNumber;
-    
-    // Spawn rates per enemy type
-    private double goblinRate;
-    private double skeletonRate;
-    private double boomerRate;
-    private double bruteRate;
-    
-    /**
-     * Inner class for spawn point locations.
-     */
-    public static class SpawnPoint {
-        public final int x;
-        public final int y;
-        
-        public SpawnPoint(int x, int y) {
-            this.x = x;
-            this.y = y;
-        }
-    }
-    
-    /**
-     * Creates spawn system for level-based mode.
-     */
-    public SpawnSystem(List<SpawnPoint> spawnPoints, int levelNumber) {
-        this.spawnPoints = spawnPoints;
-        this.random = new Random();
-        this.levelNumber = levelNumber;
-        this.endlessMode = false;
-        
-        // Configure based on level
-        configureLevel(levelNumber);
-        
-        // Initialize wave
-        this.currentWave = 1;
-        this.enemiesSpawned = 0;
-        this.enemiesDefeated = 0;
-        this.spawnTimer = 0;
-        this.waveActive = true;
-        this.waveDelay = 3.0;
-        this.waveDelayTimer = 0;
-        
-        updateSpawnRates();
-        
-        System.out.println("[SPAWN] Spawn system initialized for Level " + levelNumber);
-        System.out.println("[SPAWN] Total waves: " + totalWaves + ", Starting wave 1");
-    }
-    
-    /**
-     * Creates spawn system for endless mode.
-     */
-    public SpawnSystem(List<SpawnPoint> spawnPoints) {
-        this(spawnPoints, 0);
-        this.endlessMode = true;
-        this.totalWaves = -1; // Infinite
-        System.out.println("[SPAWN] Endless mode initialized");
-    }
-    
-    /**
-     * Configures level-specific parameters.
-     */
-    private void configureLevel(int level) {
-        switch (level) {
-            case 1:
-                totalWaves = 5;
-                enemiesPerWave = 5;
-                spawnRate = 2.0;
-                break;
-            case 2:
-                totalWaves = 7;
-                enemiesPerWave = 8;
-                spawnRate = 1.5;
-                break;
-            case 3:
-                totalWaves = 10;
-                enemiesPerWave = 12;
-                spawnRate = 1.2;
-                break;
-            default:
-                totalWaves = 5;
-                enemiesPerWave = 5;
-                spawnRate = 2.0;
-        }
-    }
-    
-    /**
-     * Updates spawn rates based on current wave.
-     */
-    private void updateSpawnRates() {
-        if (currentWave <= 2) {
-            // Early waves: mostly goblins
-            goblinRate = 0.6;
-            skeletonRate = 0.3;
-            boomerRate = 0.1;
-            bruteRate = 0.0;
-        } else if (currentWave <= 5) {
-            // Mid waves: introduce brutes
-            goblinRate = 0.4;
-            skeletonRate = 0.35;
-            boomerRate = 0.15;
-            bruteRate = 0.1;
-        } else if (currentWave <= 10) {
-            // Later waves: balanced mix
-            goblinRate = 0.3;
-            skeletonRate = 0.3;
-            boomerRate = 0.2;
-            bruteRate = 0.2;
-        } else {
-            // Late game: more dangerous enemies
-            goblinRate = 0.2;
-            skeletonRate = 0.25;
-            boomerRate = 0.25;
-            bruteRate = 0.3;
-        }
-    }
-    
-    /**
-     * Updates spawn system.
-     * @return Newly spawned enemy or null
-     */
-    public Enemy update(double deltaTime, List<Enemy> enemies, int[][] grid) {
-        // Check if wave is complete
-        if (waveActive && enemiesSpawned >= enemiesPerWave) {
-            // Count alive enemies
-            int aliveCount = 0;
-            for (Enemy enemy : enemies) {
-                if (!enemy.isDead()) aliveCount++;
-            }
-            
-            if (aliveCount == 0) {
-                // Wave complete
-                waveActive = false;
-                waveDelayTimer = waveDelay;
-                System.out.println("[WAVE] Wave " + currentWave + " complete! " + 
-                                 "Enemies defeated: " + enemiesDefeated);
-                
-                if (!endlessMode && currentWave >= totalWaves) {
-                    System.out.println("[WAVE] Level " + levelNumber + " complete!");
-                }
-            }
-        }
-        
-        // Handle wave delay
-        if (!waveActive) {
-            waveDelayTimer -= deltaTime;
-            if (waveDelayTimer <= 0) {
-                startNextWave();
-            }
-            return null;
-        }
-        
-        // Spawn enemies during active wave
-        if (enemiesSpawned < enemiesPerWave) {
-            spawnTimer += deltaTime;
-            
-            if (spawnTimer >= spawnRate) {
-                spawnTimer = 0;
-                return spawnEnemy(grid);
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * Spawns a random enemy at valid spawn point.
-     */
-    private Enemy spawnEnemy(int[][] grid) {
-        if (spawnPoints.isEmpty()) {
-            System.err.println("[ERROR] No spawn points available!");
-            return null;
-        }
-        
-        // Find valid spawn point
-        SpawnPoint spawnPoint = null;
-        int attempts = 0;
-        
-        while (attempts < 20) {
-            SpawnPoint candidate = spawnPoints.get(random.nextInt(spawnPoints.size()));
-            
-            if (grid[candidate.x][candidate.y] == 0) {
-                spawnPoint = candidate;
-                break;
-            }
-            attempts++;
-        }
-        
-        if (spawnPoint == null) {
-            System.out.println("[WARN] No valid spawn point found");
-            return null;
-        }
-        
-        // Roll enemy type
-        Enemy.EnemyType type = rollEnemyType();
-        Enemy enemy = createEnemy(spawnPoint.x, spawnPoint.y, type);
-        
-        enemiesSpawned++;
-        System.out.println("[SPAWN] Spawned " + type + " at (" + spawnPoint.x + 
-                          "," + spawnPoint.y + ") [Wave " + currentWave + ": " + 
-                          enemiesSpawned + "/" + enemiesPerWave + "]");
-        
-        return enemy;
-    }
-    
-    /**
-     * Creates enemy of specified type.
-     */
-    private Enemy createEnemy(int x, int y, Enemy.EnemyType type) {
-        switch (type) {
-            case GOBLIN:
-                return new Goblin(x, y);
-            case SKELETON:
-                return new Skeleton(x, y);
-            case BRUTE:
-                return new SkeletonBrute(x, y);
-            case BOOMER:
-                return new BoomerGoblin(x, y);
-            default:
-                return new Goblin(x, y);
-        }
-    }
-    
-    /**
-     * Rolls random enemy type based on spawn rates.
-     */
-    private Enemy.EnemyType rollEnemyType() {
-        double roll = random.nextDouble();
-        
-        if (roll < goblinRate) {
-            return Enemy.EnemyType.GOBLIN;
-        } else if (roll < goblinRate + skeletonRate) {
-            return Enemy.EnemyType.SKELETON;
-        } else if (roll < goblinRate + skeletonRate + boomerRate) {
-            return Enemy.EnemyType.BOOMER;
-        } else {
-            return Enemy.EnemyType.BRUTE;
-        }
-    }
-    
-    /**
-     * Starts next wave with increased difficulty.
-     */
-    private void startNextWave() {
-        currentWave++;
-        enemiesSpawned = 0;
-        waveActive = true;
-        
-        // Scale difficulty
-        if (endlessMode) {
-            enemiesPerWave = (int)(5 + currentWave * 2.5);
-            spawnRate = Math.max(0.3, 2.0 - currentWave * 0.08);
-        } else {
-            // Level-based scaling
-            enemiesPerWave = (int)(enemiesPerWave * 1.3);
-            spawnRate = Math.max(0.5, spawnRate * 0.9);
-        }
-        
-        updateSpawnRates();
-        
-        System.out.println("[WAVE] Starting Wave " + currentWave + 
-                          " - Enemies: " + enemiesPerWave + 
-                          ", Spawn rate: " + String.format("%.2f", spawnRate) + "s");
-    }
-    
-    /**
-     * Called when enemy is defeated.
-     */
-    public void onEnemyDefeated() {
-        enemiesDefeated++;
-    }
-    
-    /**
-     * Checks if level is complete (for level-based mode).
-     */
-    public boolean isLevelComplete() {
-        return !endlessMode && currentWave > totalWaves && !waveActive;
-    }
-    
-    // Getters
-    public int getCurrentWave() { return currentWave; }
-    public int getTotalWaves() { return totalWaves; }
-    public int getEnemiesSpawned() { return enemiesSpawned; }
-    public int getEnemiesPerWave() { return enemiesPerWave; }
-    public int getEnemiesDefeated() { return enemiesDefeated; }
-    public boolean isWaveActive() { return waveActive; }
-    public boolean isEndlessMode() { return endlessMode; }
-    public int getLevelNumber() { return levelNumber; }
+package application;
+
+import java.util.*;
+
+/**
+ * Manages wave-based enemy spawning for endless survival mode.
+ * Implements difficulty progression and spawn rate management.
+ */
+public class SpawnSystem {
+    // Number of values written by saveState
+    public static final int STATE_SIZE = 9;
+    
+    // Wave management
+    private int currentWave;
+    private int totalWaves;              // For level-based mode
+    private boolean endlessMode;         // Endless vs level-based
+    private int waveDelay;               // Delay between waves (ticks)
+    private int waveDelayTimer;
+    private boolean waveActive;
+    
+    // Spawning
+    private int enemiesPerWave;
+    private int enemiesSpawned;
+    private int enemiesDefeated;
+    private int spawnTimer;
+    private int spawnInterval;           // Ticks between spawns
+    private List<SpawnPoint> spawnPoints;
+    private GameRandom random;
+    
+    // Level configuration
+    private int levelNumber;
+    
+    // Spawn rates per enemy type
+    private double goblinRate;
+    private double skeletonRate;
+    private double boomerRate;
+    private double bruteRate;
+    
+    /**
+     * Inner class for spawn point locations.
+     */
+    public static class SpawnPoint {
+        public final int x;
+        public final int y;
+        
+        public SpawnPoint(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+    
+    /**
+     * Creates spawn system for level-based mode.
+     */
+    public SpawnSystem(List<SpawnPoint> spawnPoints, int levelNumber) {
+        this(spawnPoints, levelNumber, new GameRandom());
+    }
+    
+    /**
+     * Creates spawn system for level-based mode with a given random source.
+     */
+    public SpawnSystem(List<SpawnPoint> spawnPoints, int levelNumber, GameRandom random) {
+        this.spawnPoints = spawnPoints;
+        this.random = random;
+        this.levelNumber = levelNumber;
+        this.endlessMode = false;
+        
+        // Configure based on level
+        configureLevel(levelNumber);
+        
+        // Initialize wave
+        this.currentWave = 1;
+        this.enemiesSpawned = 0;
+        this.enemiesDefeated = 0;
+        this.spawnTimer = 0;
+        this.waveActive = true;
+        this.waveDelay = Constants.secondsToTicks(3.0);
+        this.waveDelayTimer = 0;
+        
+        updateSpawnRates();
+        
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.SPAWN, "Spawn system initialized for Level {}", levelNumber);
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.SPAWN, "Total waves: {}, Starting wave 1", totalWaves);
+    }
+    
+    /**
+     * Creates spawn system for endless mode.
+     */
+    public SpawnSystem(List<SpawnPoint> spawnPoints) {
+        this(spawnPoints, new GameRandom());
+    }
+    
+    /**
+     * Creates spawn system for endless mode with a given random source.
+     */
+    public SpawnSystem(List<SpawnPoint> spawnPoints, GameRandom random) {
+        this(spawnPoints, 0, random);
+        this.endlessMode = true;
+        this.totalWaves = -1; // Infinite
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.SPAWN, "Endless mode initialized");
+    }
+    
+    /**
+     * Creates a copy of another spawn system (for cloned game states).
+     * The copy continues the same random sequence independently.
+     */
+    public SpawnSystem(SpawnSystem other) {
+        this.currentWave = other.currentWave;
+        this.totalWaves = other.totalWaves;
+        this.endlessMode = other.endlessMode;
+        this.waveDelay = other.waveDelay;
+        this.waveDelayTimer = other.waveDelayTimer;
+        this.waveActive = other.waveActive;
+        this.enemiesPerWave = other.enemiesPerWave;
+        this.enemiesSpawned = other.enemiesSpawned;
+        this.enemiesDefeated = other.enemiesDefeated;
+        this.spawnTimer = other.spawnTimer;
+        this.spawnInterval = other.spawnInterval;
+        this.spawnPoints = other.spawnPoints;
+        this.random = other.random.copy();
+        this.levelNumber = other.levelNumber;
+        this.goblinRate = other.goblinRate;
+        this.skeletonRate = other.skeletonRate;
+        this.boomerRate = other.boomerRate;
+        this.bruteRate = other.bruteRate;
+    }
+    
+    /**
+     * Configures level-specific parameters.
+     */
+    private void configureLevel(int level) {
+        switch (level) {
+            case 1:
+                totalWaves = 5;
+                enemiesPerWave = 5;
+                spawnInterval = Constants.secondsToTicks(2.0);
+                break;
+            case 2:
+                totalWaves = 7;
+                enemiesPerWave = 8;
+                spawnInterval = Constants.secondsToTicks(1.5);
+                break;
+            case 3:
+                totalWaves = 10;
+                enemiesPerWave = 12;
+                spawnInterval = Constants.secondsToTicks(1.2);
+                break;
+            default:
+                totalWaves = 5;
+                enemiesPerWave = 5;
+                spawnInterval = Constants.secondsToTicks(2.0);
+        }
+    }
+    
+    /**
+     * Writes the mutable spawn state into dest, starting at offset.
+     */
+    public void saveState(long[] dest, int offset) {
+        dest[offset] = currentWave;
+        dest[offset + 1] = waveDelayTimer;
+        dest[offset + 2] = waveActive ? 1 : 0;
+        dest[offset + 3] = enemiesPerWave;
+        dest[offset + 4] = enemiesSpawned;
+        dest[offset + 5] = enemiesDefeated;
+        dest[offset + 6] = spawnTimer;
+        dest[offset + 7] = spawnInterval;
+        dest[offset + 8] = random.getState();
+    }
+    
+    /**
+     * Restores state written by saveState.
+     */
+    public void restoreState(long[] src, int offset) {
+        currentWave = (int) src[offset];
+        waveDelayTimer = (int) src[offset + 1];
+        waveActive = src[offset + 2] != 0;
+        enemiesPerWave = (int) src[offset + 3];
+        enemiesSpawned = (int) src[offset + 4];
+        enemiesDefeated = (int) src[offset + 5];
+        spawnTimer = (int) src[offset + 6];
+        spawnInterval = (int) src[offset + 7];
+        random.setState(src[offset + 8]);
+        updateSpawnRates();
+    }
+    
+    /**
+     * Updates spawn rates based on current wave.
+     */
+    private void updateSpawnRates() {
+        if (currentWave <= 2) {
+            // Early waves: mostly goblins
+            goblinRate = 0.6;
+            skeletonRate = 0.3;
+            boomerRate = 0.1;
+            bruteRate = 0.0;
+        } else if (currentWave <= 5) {
+            // Mid waves: introduce brutes
+            goblinRate = 0.4;
+            skeletonRate = 0.35;
+            boomerRate = 0.15;
+            bruteRate = 0.1;
+        } else if (currentWave <= 10) {
+            // Later waves: balanced mix
+            goblinRate = 0.3;
+            skeletonRate = 0.3;
+            boomerRate = 0.2;
+            bruteRate = 0.2;
+        } else {
+            // Late game: more dangerous enemies
+            goblinRate = 0.2;
+            skeletonRate = 0.25;
+            boomerRate = 0.25;
+            bruteRate = 0.3;
+        }
+    }
+    
+    /**
+     * Advances spawn system by one tick.
+     * @param aliveCount Number of enemies still alive on the grid
+     * @return Newly spawned enemy or null
+     */
+    public Enemy update(int aliveCount, int[][] grid) {
+        // Check if wave is complete
+        if (waveActive && enemiesSpawned >= enemiesPerWave) {
+            if (aliveCount == 0) {
+                // Wave complete
+                waveActive = false;
+                waveDelayTimer = waveDelay;
+                GameLog.log(GameLog.Level.INFO, GameLog.Category.WAVE, "Wave {} complete! Enemies defeated: {}",
+                            currentWave, enemiesDefeated);
+                
+                if (!endlessMode && currentWave >= totalWaves) {
+                    GameLog.log(GameLog.Level.INFO, GameLog.Category.WAVE, "Level {} complete!", levelNumber);
+                }
+            }
+        }
+        
+        // Handle wave delay
+        if (!waveActive) {
+            waveDelayTimer--;
+            if (waveDelayTimer <= 0) {
+                startNextWave();
+            }
+            return null;
+        }
+        
+        // Spawn enemies during active wave
+        if (enemiesSpawned < enemiesPerWave) {
+            spawnTimer++;
+            
+            if (spawnTimer >= spawnInterval) {
+                spawnTimer = 0;
+                return spawnEnemy(grid);
+            }
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Spawns a random enemy at valid spawn point.
+     */
+    private Enemy spawnEnemy(int[][] grid) {
+        FlightEvents.Spawn event = new FlightEvents.Spawn();
+        event.begin();
+        if (spawnPoints.isEmpty()) {
+            GameLog.log(GameLog.Level.ERROR, GameLog.Category.SPAWN, "No spawn points available!");
+            return null;
+        }
+        
+        // Find valid spawn point
+        SpawnPoint spawnPoint = null;
+        int attempts = 0;
+        
+        while (attempts < 20) {
+            SpawnPoint candidate = spawnPoints.get(random.nextInt(spawnPoints.size()));
+            
+            if (grid[candidate.x][candidate.y] == 0) {
+                spawnPoint = candidate;
+                break;
+            }
+            attempts++;
+        }
+        
+        if (spawnPoint == null) {
+            GameLog.log(GameLog.Level.WARN, GameLog.Category.SPAWN, "No valid spawn point found");
+            return null;
+        }
+        
+        // Roll enemy type
+        Enemy.EnemyType type = rollEnemyType();
+        Enemy enemy = createEnemy(spawnPoint.x, spawnPoint.y, type);
+        
+        enemiesSpawned++;
+        GameLog.log(GameLog.Level.DEBUG, GameLog.Category.SPAWN, "Spawned {} at ({},{}) [Wave {}: {}/{}]", type,
+                    spawnPoint.x, spawnPoint.y, currentWave, enemiesSpawned, enemiesPerWave);
+        if (event.shouldCommit()) {
+            event.enemyType = type.name();
+            event.x = spawnPoint.x;
+            event.y = spawnPoint.y;
+            event.wave = currentWave;
+            event.attempts = attempts + 1;
+            event.commit();
+        }
+        
+        return enemy;
+    }
+    
+    /**
+     * Creates enemy of specified type.
+     */
+    static Enemy createEnemy(int x, int y, Enemy.EnemyType type) {
+        switch (type) {
+            case GOBLIN:
+                return new Goblin(x, y);
+            case SKELETON:
+                return new Skeleton(x, y);
+            case BRUTE:
+                return new SkeletonBrute(x, y);
+            case BOOMER:
+                return new BoomerGoblin(x, y);
+            default:
+                return new Goblin(x, y);
+        }
+    }
+    
+    /**
+     * Rolls random enemy type based on spawn rates.
+     */
+    private Enemy.EnemyType rollEnemyType() {
+        double roll = random.nextDouble();
+        
+        if (roll < goblinRate) {
+            return Enemy.EnemyType.GOBLIN;
+        } else if (roll < goblinRate + skeletonRate) {
+            return Enemy.EnemyType.SKELETON;
+        } else if (roll < goblinRate + skeletonRate + boomerRate) {
+            return Enemy.EnemyType.BOOMER;
+        } else {
+            return Enemy.EnemyType.BRUTE;
+        }
+    }
+    
+    /**
+     * Starts next wave with increased difficulty.
+     */
+    private void startNextWave() {
+        currentWave++;
+        enemiesSpawned = 0;
+        waveActive = true;
+        
+        // Scale difficulty
+        if (endlessMode) {
+            enemiesPerWave = 5 + currentWave * 5 / 2;
+            // 0.3s floor, 2.0s minus 0.4s every 5 waves
+            spawnInterval = Math.max(Constants.secondsToTicks(0.3),
+                                     Constants.secondsToTicks(2.0) - currentWave * Constants.secondsToTicks(0.4) / 5);
+        } else {
+            // Level-based scaling
+            enemiesPerWave = enemiesPerWave * 13 / 10;
+            spawnInterval = Math.max(Constants.secondsToTicks(0.5), spawnInterval * 9 / 10);
+        }
+        
+        updateSpawnRates();
+        
+        GameLog.log(GameLog.Level.INFO, GameLog.Category.WAVE, "Starting Wave {} - Enemies: {}, Spawn rate: {}ms",
+                    currentWave, enemiesPerWave, spawnInterval * Constants.TICK_MILLIS);
+    }
+    
+    /**
+     * Called when enemy is defeated.
+     */
+    public void onEnemyDefeated() {
+        enemiesDefeated++;
+    }
+    
+    /**
+     * Checks if level is complete (for level-based mode).
+     */
+    public boolean isLevelComplete() {
+        return !endlessMode && currentWave > totalWaves && !waveActive;
+    }
+    
+    // Getters
+    public int getCurrentWave() { return currentWave; }
+    public int getTotalWaves() { return totalWaves; }
+    public int getEnemiesSpawned() { return enemiesSpawned; }
+    public int getEnemiesPerWave() { return enemiesPerWave; }
+    public int getEnemiesDefeated() { return enemiesDefeated; }
+    public boolean isWaveActive() { return waveActive; }
+    public boolean isEndlessMode() { return endlessMode; }
+    public int getLevelNumber() { return levelNumber; }
 }
\ No newline at end of file
@@ -1,9 +1,14 @@
-package application;
-
-public class Spikes extends Obstacle {
-	public Spikes() {
-		// entityType=3 (new type for visualization), collisionDamage=2, passDamage=0,
-		// passable=false
-		super(3, 2, 0, false);
-	}
+package application;
+
+public class Spikes extends Obstacle {
+	public Spikes() {
+		// entityType=3 (new type for visualization), collisionDamage=2, passDamage=0,
+		// passable=false
+		super(3, 2, 0, false);
+	}
+
+	@Override
+	public boolean blocksLight() {
+		return false; // Light shines between the points
+	}
 }
\ No newline at end of file
@@ -0,0 +1,209 @@
+package application;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+/**
+ * Pre-rendered tiles for the canvas renderer, packed into one texture.
+ * Row 0 holds one tile per cell type (floor, wall, enemy, spikes, campfire),
+ * the player and each enemy type. Below it, each enemy type has a row of HP
+ * pip strips, one per health value, so health overlays are plain blits.
+ */
+public class SpriteAtlas {
+    // Tile indices in row 0; cell types 0-4 map to themselves
+    public static final int TILE_FLOOR = 0;
+    public static final int TILE_PLAYER = 5;
+    private static final int FIRST_ENEMY_TILE = 6;
+    
+    private static final int PIP_HEIGHT = 6;
+    private static final Color PIP_BACKGROUND = Color.rgb(20, 20, 20);
+    private static final Color PIP_FULL = Color.rgb(80, 220, 80);
+    private static final Color PIP_EMPTY = Color.rgb(90, 30, 30);
+    
+    private final int tileSize;
+    private final int[] maxHp;           // Per enemy type ordinal
+    private final WritableImage image;
+    private final PixelWriter writer;
+    
+    /**
+     * Renders the atlas for the given tile size.
+     */
+    public SpriteAtlas(int tileSize) {
+        this.tileSize = tileSize;
+        
+        Enemy.EnemyType[] types = Enemy.EnemyType.values();
+        maxHp = new int[types.length];
+        int widestPipRow = 0;
+        for (Enemy.EnemyType type : types) {
+            maxHp[type.ordinal()] = getMaxHealth(type);
+            widestPipRow = Math.max(widestPipRow, maxHp[type.ordinal()] + 1);
+        }
+        
+        int columns = Math.max(FIRST_ENEMY_TILE + types.length, widestPipRow);
+        int rows = tileSize + types.length * PIP_HEIGHT;
+        image = new WritableImage(columns * tileSize, rows);
+        writer = image.getPixelWriter();
+        
+        renderTiles();
+        renderPips();
+    }
+    
+    /**
+     * Gets the tile index for an enemy type.
+     */
+    public static int enemyTile(Enemy.EnemyType type) {
+        return FIRST_ENEMY_TILE + type.ordinal();
+    }
+    
+    /**
+     * Draws a tile scaled to the given cell.
+     */
+    public void drawTile(GraphicsContext gc, int tile, double x, double y, double size) {
+        gc.drawImage(image, tile * tileSize, 0, tileSize, tileSize, x, y, size, size);
+    }
+    
+    /**
+     * Draws an enemy tile with its HP pips along the bottom edge.
+     */
+    public void drawEnemy(GraphicsContext gc, Enemy enemy, double x, double y, double size) {
+        drawTile(gc, enemyTile(enemy.getType()), x, y, size);
+        
+        int type = enemy.getType().ordinal();
+        int hp = Math.max(0, Math.min(enemy.getHp(), maxHp[type]));
+        double pipHeight = PIP_HEIGHT * size / tileSize;
+        gc.drawImage(image, hp * tileSize, tileSize + type * PIP_HEIGHT, tileSize, PIP_HEIGHT,
+                     x, y + size - pipHeight, size, pipHeight);
+    }
+    
+    public WritableImage getImage() {
+        return image;
+    }
+    
+    // ==================== RENDERING ====================
+    
+    private void renderTiles() {
+        int s = tileSize;
+        
+        for (int type = 0; type <= 4; type++) {
+            fillRect(type * s, 0, s, s, GamePanel.getCellColor(type));
+        }
+        
+        // Wall: mortar lines
+        Color mortar = Color.rgb(45, 45, 45);
+        int wall = 1 * s;
+        for (int row = 0; row < 4; row++) {
+            int y = row * s / 4;
+            fillRect(wall, y, s, 1, mortar);
+            int offset = (row % 2 == 0) ? 0 : s / 4;
+            for (int x = offset; x < s; x += s / 2) {
+                fillRect(wall + x, y, 1, s / 4, mortar);
+            }
+        }
+        
+        // Spikes: floor with a row of points
+        int spikes = 3 * s;
+        fillRect(spikes, 0, s, s, GamePanel.getCellColor(0));
+        Color steel = GamePanel.getCellColor(3);
+        for (int i = 0; i < 3; i++) {
+            int baseX = spikes + s / 8 + i * s / 4 + s / 16;
+            fillTriangle(baseX, s * 3 / 4, s / 4, s / 2, steel);
+        }
+        
+        // Campfire: floor with a flame
+        int fire = 4 * s;
+        fillRect(fire, 0, s, s, GamePanel.getCellColor(0));
+        fillCircle(fire + s / 2, s * 3 / 5, s / 3, GamePanel.getCellColor(4));
+        fillCircle(fire + s / 2, s * 3 / 5, s / 6, Color.rgb(255, 230, 120));
+        
+        // Player
+        drawCreature(TILE_PLAYER, Color.BLUE, s * 2 / 5);
+        
+        // Enemies
+        for (Enemy.EnemyType type : Enemy.EnemyType.values()) {
+            int radius = type == Enemy.EnemyType.BRUTE ? s * 9 / 20 : s * 7 / 20;
+            drawCreature(enemyTile(type), GamePanel.getEnemyColor(type), radius);
+            if (type == Enemy.EnemyType.BOOMER) {
+                fillCircle(enemyTile(type) * s + s / 2, s / 2, s / 8, Color.rgb(255, 220, 0));
+            }
+        }
+    }
+    
+    /**
+     * Draws a round body with eyes on a transparent tile, so it can be
+     * drawn over any background or between cells.
+     */
+    private void drawCreature(int tile, Color color, int radius) {
+        int s = tileSize;
+        int left = tile * s;
+        fillCircle(left + s / 2, s / 2, radius, color.darker());
+        fillCircle(left + s / 2, s / 2, radius - Math.max(1, s / 20), color);
+        
+        int eye = Math.max(1, s / 10);
+        fillRect(left + s / 2 - s / 6, s / 2 - s / 8, eye, eye, Color.BLACK);
+        fillRect(left + s / 2 + s / 6 - eye, s / 2 - s / 8, eye, eye, Color.BLACK);
+    }
+    
+    private void renderPips() {
+        for (Enemy.EnemyType type : Enemy.EnemyType.values()) {
+            int max = maxHp[type.ordinal()];
+            int top = tileSize + type.ordinal() * PIP_HEIGHT;
+            int pipWidth = (tileSize - 2) / max;
+            
+            for (int hp = 0; hp <= max; hp++) {
+                int left = hp * tileSize;
+                fillRect(left, top, tileSize, PIP_HEIGHT, PIP_BACKGROUND);
+                for (int i = 0; i < max; i++) {
+                    fillRect(left + 1 + i * pipWidth + 1, top + 1, pipWidth - 2, PIP_HEIGHT - 2,
+                             i < hp ? PIP_FULL : PIP_EMPTY);
+                }
+            }
+        }
+    }
+    
+    private static int getMaxHealth(Enemy.EnemyType type) {
+        switch (type) {
+            case GOBLIN: return Constants.GOBLIN_MAX_HEALTH;
+            case SKELETON: return Constants.SKELETON_MAX_HEALTH;
+            case BRUTE: return Constants.BRUTE_MAX_HEALTH;
+            case BOOMER: return Constants.BOOMER_MAX_HEALTH;
+            default: return 1;
+        }
+    }
+    
+    // ==================== PIXEL HELPERS ====================
+    
+    private void fillRect(int x, int y, int w, int h, Color color) {
+        for (int py = y; py < y + h; py++) {
+            for (int px = x; px < x + w; px++) {
+                writer.setColor(px, py, color);
+            }
+        }
+    }
+    
+    private void fillCircle(int cx, int cy, int radius, Color color) {
+        for (int py = cy - radius; py <= cy + radius; py++) {
+            for (int px = cx - radius; px <= cx + radius; px++) {
+                int dx = px - cx;
+                int dy = py - cy;
+                if (dx * dx + dy * dy <= radius * radius) {
+                    writer.setColor(px, py, color);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Fills an upward-pointing triangle standing on baseY.
+     */
+    private void fillTriangle(int left, int baseY, int width, int height, Color color) {
+        for (int row = 0; row < height; row++) {
+            int half = width * (height - row) / (2 * height);
+            int mid = left + width / 2;
+            for (int px = mid - half; px <= mid + half; px++) {
+                writer.setColor(px, baseY - row, color);
+            }
+        }
+    }
+}
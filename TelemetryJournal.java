@@ -0,0 +1,482 @@
+package application;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only binary journal of combat, spawn, wave and death records for
+ * post-mortems on long runs.
+ *
+ * The journal is a directory of fixed-size segment files, each mapped into
+ * memory. Records are fixed-size and written with plain stores into the
+ * mapped buffer, so appending makes no system calls and allocates nothing.
+ * At the end of every tick the segment header's committed record count is
+ * published with a release store; readers only trust records below it, so
+ * if the process dies, everything up to the last completed tick can still
+ * be read from the page cache. The next segment is created and mapped
+ * ahead of time by a background thread, and the writer switches to it
+ * between ticks, so a tick never spans two segments.
+ *
+ * Records carry a step (ticks committed since the journal was opened) that
+ * only ever increases, even when the game rewinds, plus the game tick
+ * itself. Readers use the step to seek by binary search.
+ *
+ * Segment layout (little-endian):
+ *   header (64 bytes): magic "PKTJ", version, record size, segment index,
+ *                      first step, committed records, last step, last tick
+ *   records (32 bytes): step, tick, kind, enemy type (-1 for none), unused,
+ *                       enemy id, x, y, value, extra
+ */
+public class TelemetryJournal {
+    private static final int MAGIC = 0x4A544B50;        // "PKTJ"
+    private static final int VERSION = 1;
+    public static final int HEADER_SIZE = 64;
+    public static final int RECORD_SIZE = 32;
+    
+    // Header fields
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_RECORD_SIZE = 8;
+    private static final int H_INDEX = 12;
+    private static final int H_FIRST_STEP = 16;
+    private static final int H_COMMITTED = 24;
+    private static final int H_LAST_STEP = 32;
+    private static final int H_LAST_TICK = 40;
+    
+    // Record fields
+    private static final int R_STEP = 0;
+    private static final int R_TICK = 8;
+    private static final int R_KIND = 12;
+    private static final int R_ENEMY_TYPE = 13;
+    private static final int R_ID = 16;
+    private static final int R_X = 20;
+    private static final int R_Y = 22;
+    private static final int R_VALUE = 24;
+    private static final int R_EXTRA = 28;
+    
+    private static final long MAPPER_POLL_NANOS = 5_000_000L;
+    
+    // Release store for the committed count, so records are never seen as
+    // committed before their own bytes
+    private static final VarHandle LONG_VIEW =
+        MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    
+    /**
+     * Kind of record. Fields per kind:
+     *   SPAWN          id, type, x, y, value = hp
+     *   ENEMY_DAMAGE   id, type, x, y, value = damage, extra = hp left
+     *   ENEMY_DEATH    id, type, x, y
+     *   PLAYER_DAMAGE  x, y, value = damage, extra = health left
+     *   PLAYER_DEATH   x, y
+     *   WAVE_START     value = wave, extra = enemies in the wave
+     *   WAVE_COMPLETE  value = wave, extra = enemies defeated so far
+     *   REWIND         value = ticks rewound
+     */
+    public enum Kind {
+        SPAWN, ENEMY_DAMAGE, ENEMY_DEATH, PLAYER_DAMAGE, PLAYER_DEATH,
+        WAVE_START, WAVE_COMPLETE, REWIND
+    }
+    private static final Kind[] KINDS = Kind.values();
+    private static final Enemy.EnemyType[] ENEMY_TYPES = Enemy.EnemyType.values();
+    
+    private final Path directory;
+    private final int segmentBytes;
+    private final int rollThreshold;     // Switch segments between ticks past this offset
+    
+    // Game thread
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private int position;                // Write offset in the current segment
+    private long step;
+    private long tick;                   // Game tick the pending records belong to
+    private long recordsWritten;
+    private long recordsDropped;
+    
+    // Handed from the mapper thread to the game thread
+    private volatile MappedByteBuffer nextSegment;
+    private volatile boolean closed;
+    private volatile IOException mapFailure;
+    private final Thread mapper;
+    
+    /**
+     * Creates a journal in a directory, which must not hold another journal.
+     * @param segmentBytes Size of each segment file
+     */
+    public TelemetryJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_SIZE + 16 * RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.rollThreshold = segmentBytes - (segmentBytes - HEADER_SIZE) / 8;
+        Files.createDirectories(directory);
+        
+        this.segment = mapSegment(0);
+        this.segmentIndex = 0;
+        startSegment();
+        this.nextSegment = mapSegment(1);
+        
+        this.mapper = new Thread(this::mapLoop, "journal-mapper");
+        mapper.setDaemon(true);
+        mapper.start();
+    }
+    
+    // ==================== RECORDING ====================
+    
+    public void recordSpawn(Enemy enemy) {
+        append(Kind.SPAWN, enemy, enemy.getX(), enemy.getY(), enemy.getHp(), 0);
+    }
+    
+    public void recordEnemyDamage(Enemy enemy, int damage) {
+        append(Kind.ENEMY_DAMAGE, enemy, enemy.getX(), enemy.getY(), damage, enemy.getHp());
+    }
+    
+    public void recordEnemyDeath(Enemy enemy) {
+        append(Kind.ENEMY_DEATH, enemy, enemy.getX(), enemy.getY(), 0, 0);
+    }
+    
+    public void recordPlayerDamage(Player player, int damage) {
+        append(Kind.PLAYER_DAMAGE, null, player.getX(), player.getY(), damage, player.getHealth());
+    }
+    
+    public void recordPlayerDeath(Player player) {
+        append(Kind.PLAYER_DEATH, null, player.getX(), player.getY(), 0, 0);
+    }
+    
+    public void recordWaveStart(int wave, int enemies) {
+        append(Kind.WAVE_START, null, 0, 0, wave, enemies);
+    }
+    
+    public void recordWaveComplete(int wave, int defeated) {
+        append(Kind.WAVE_COMPLETE, null, 0, 0, wave, defeated);
+    }
+    
+    public void recordRewind(int ticks) {
+        append(Kind.REWIND, null, 0, 0, ticks, 0);
+    }
+    
+    /**
+     * Sets the game tick stamped on the records that follow.
+     */
+    public void setTick(long tick) {
+        this.tick = tick;
+    }
+    
+    /**
+     * Writes one record with plain stores into the mapped segment.
+     */
+    private void append(Kind kind, Enemy enemy, int x, int y, int value, int extra) {
+        if (segment == null || position + RECORD_SIZE > segmentBytes) {
+            recordsDropped++; // Only if a single tick filled the roll headroom
+            return;
+        }
+        MappedByteBuffer buffer = segment;
+        int at = position;
+        buffer.putLong(at + R_STEP, step);
+        buffer.putInt(at + R_TICK, (int) tick);
+        buffer.put(at + R_KIND, (byte) kind.ordinal());
+        buffer.put(at + R_ENEMY_TYPE, enemy != null ? (byte) enemy.getType().ordinal() : -1);
+        buffer.putShort(at + R_ENEMY_TYPE + 1, (short) 0);
+        buffer.putInt(at + R_ID, enemy != null ? enemy.getId() : 0);
+        buffer.putShort(at + R_X, (short) x);
+        buffer.putShort(at + R_Y, (short) y);
+        buffer.putInt(at + R_VALUE, value);
+        buffer.putInt(at + R_EXTRA, extra);
+        position = at + RECORD_SIZE;
+        recordsWritten++;
+    }
+    
+    /**
+     * Marks every record written so far as complete and moves to the next
+     * step. Switches to the pre-mapped next segment once the current one is
+     * nearly full. Call at the end of each tick.
+     */
+    public void commitTick() {
+        if (segment == null) {
+            step++;
+            takeNextSegment(); // Mapping had fallen behind
+            return;
+        }
+        segment.putLong(H_LAST_STEP, step);
+        segment.putLong(H_LAST_TICK, tick);
+        LONG_VIEW.setRelease(segment, H_COMMITTED, (long) (position - HEADER_SIZE) / RECORD_SIZE);
+        step++;
+        
+        if (position >= rollThreshold) {
+            takeNextSegment();
+        }
+    }
+    
+    private void takeNextSegment() {
+        MappedByteBuffer next = nextSegment;
+        if (next == null) {
+            segment = null; // Records are dropped until the mapper catches up
+            return;
+        }
+        nextSegment = null;
+        segment = next;
+        segmentIndex++;
+        startSegment();
+    }
+    
+    private void startSegment() {
+        segment.putLong(H_FIRST_STEP, step);
+        position = HEADER_SIZE;
+    }
+    
+    /**
+     * Commits pending records, flushes every segment to disk and stops the
+     * mapper. Segment files keep their full size; readers stop at the
+     * committed count.
+     */
+    public void close() {
+        if (closed) return;
+        commitTick();
+        closed = true;
+        LockSupport.unpark(mapper);
+        if (segment != null) {
+            segment.force();
+            segment = null; // Later records are dropped
+        }
+        if (mapFailure != null) {
+            GameLog.log(GameLog.Level.ERROR, GameLog.Category.TELEMETRY, "Journal segment could not be mapped: {}",
+                        mapFailure.getMessage());
+        }
+        
+        // The spare segment was never written to
+        MappedByteBuffer spare = nextSegment;
+        nextSegment = null;
+        if (spare != null) {
+            try {
+                Files.deleteIfExists(segmentPath(directory, segmentIndex + 1));
+            } catch (IOException e) {
+                GameLog.log(GameLog.Level.WARN, GameLog.Category.TELEMETRY, "Could not remove spare segment: {}",
+                            e.getMessage());
+            }
+        }
+    }
+    
+    public long getRecordsWritten() { return recordsWritten; }
+    public long getRecordsDropped() { return recordsDropped; }
+    public long getStep() { return step; }
+    public Path getDirectory() { return directory; }
+    
+    // ==================== SEGMENT MAPPING ====================
+    
+    /**
+     * Keeps one empty segment mapped ahead of the writer.
+     */
+    private void mapLoop() {
+        int mapped = 1;
+        while (!closed) {
+            if (nextSegment == null && mapFailure == null) {
+                try {
+                    MappedByteBuffer next = mapSegment(mapped + 1);
+                    if (closed) break;
+                    mapped++;
+                    nextSegment = next;
+                } catch (IOException e) {
+                    mapFailure = e;
+                    GameLog.log(GameLog.Level.ERROR, GameLog.Category.TELEMETRY, "Journal stopped: {}",
+                                e.getMessage());
+                }
+            }
+            LockSupport.parkNanos(MAPPER_POLL_NANOS);
+        }
+    }
+    
+    private MappedByteBuffer mapSegment(int index) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(H_MAGIC, MAGIC);
+        buffer.putInt(H_VERSION, VERSION);
+        buffer.putInt(H_RECORD_SIZE, RECORD_SIZE);
+        buffer.putInt(H_INDEX, index);
+        buffer.putLong(H_FIRST_STEP, -1);
+        buffer.putLong(H_COMMITTED, 0);
+        return buffer;
+    }
+    
+    private static Path segmentPath(Path directory, int index) {
+        return directory.resolve(String.format("segment-%06d.pktj", index));
+    }
+    
+    // ==================== READING ====================
+    
+    /**
+     * One decoded record, reused between reads.
+     */
+    public static class Record {
+        public long step;
+        public int tick;
+        public Kind kind;
+        public Enemy.EnemyType enemyType;    // Null for player and wave records
+        public int enemyId;
+        public int x, y;
+        public int value;
+        public int extra;
+        
+        @Override
+        public String toString() {
+            return String.format("step=%d tick=%d %s %s#%d (%d,%d) value=%d extra=%d",
+                                 step, tick, kind, enemyType, enemyId, x, y, value, extra);
+        }
+    }
+    
+    /**
+     * Offline reader over a journal directory. Reads segments in order,
+     * either sequentially from the start or from a step found by binary
+     * search. Only committed records are returned, so a journal left by a
+     * crashed game reads up to its last completed tick.
+     */
+    public static class Reader implements AutoCloseable {
+        private final List<MappedByteBuffer> segments = new ArrayList<>();
+        private final long[] firstSteps;
+        private final long[] counts;
+        private int segmentIndex;
+        private long recordIndex;
+        
+        public Reader(Path directory) throws IOException {
+            List<Path> paths = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "segment-*.pktj")) {
+                for (Path path : files) {
+                    paths.add(path);
+                }
+            }
+            Collections.sort(paths);
+            
+            for (Path path : paths) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    if (channel.size() < HEADER_SIZE) continue;
+                    MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                    buffer.order(ByteOrder.LITTLE_ENDIAN);
+                    if (buffer.getInt(H_MAGIC) != MAGIC || buffer.getInt(H_RECORD_SIZE) != RECORD_SIZE) {
+                        throw new IOException("Not a journal segment: " + path);
+                    }
+                    if (buffer.getLong(H_FIRST_STEP) < 0) continue; // Mapped ahead, never written
+                    segments.add(buffer);
+                }
+            }
+            
+            firstSteps = new long[segments.size()];
+            counts = new long[segments.size()];
+            for (int i = 0; i < segments.size(); i++) {
+                MappedByteBuffer buffer = segments.get(i);
+                firstSteps[i] = buffer.getLong(H_FIRST_STEP);
+                long maxRecords = (buffer.capacity() - HEADER_SIZE) / RECORD_SIZE;
+                counts[i] = Math.max(0, Math.min(buffer.getLong(H_COMMITTED), maxRecords));
+            }
+        }
+        
+        public int getSegmentCount() {
+            return segments.size();
+        }
+        
+        public long getRecordCount() {
+            long total = 0;
+            for (long count : counts) total += count;
+            return total;
+        }
+        
+        /**
+         * Last step committed to the journal, or -1 if it is empty.
+         */
+        public long getLastStep() {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                if (counts[i] > 0) return segments.get(i).getLong(H_LAST_STEP);
+            }
+            return -1;
+        }
+        
+        /**
+         * Moves back to the first record.
+         */
+        public void rewind() {
+            segmentIndex = 0;
+            recordIndex = 0;
+        }
+        
+        /**
+         * Positions the reader at the first record whose step is at least
+         * the given one.
+         */
+        public void seekToStep(long target) {
+            // Last segment starting at or before the target
+            int low = 0, high = segments.size() - 1, found = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (firstSteps[mid] <= target) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            segmentIndex = found;
+            
+            // First record in it at or past the target
+            long lowRecord = 0, highRecord = segments.isEmpty() ? 0 : counts[found];
+            while (lowRecord < highRecord) {
+                long mid = (lowRecord + highRecord) >>> 1;
+                if (stepAt(found, mid) < target) {
+                    lowRecord = mid + 1;
+                } else {
+                    highRecord = mid;
+                }
+            }
+            recordIndex = lowRecord;
+        }
+        
+        /**
+         * Reads the next committed record.
+         * @return False at the end of the journal
+         */
+        public boolean next(Record into) {
+            while (segmentIndex < segments.size() && recordIndex >= counts[segmentIndex]) {
+                segmentIndex++;
+                recordIndex = 0;
+            }
+            if (segmentIndex >= segments.size()) return false;
+            
+            MappedByteBuffer buffer = segments.get(segmentIndex);
+            int at = (int) (HEADER_SIZE + recordIndex * RECORD_SIZE);
+            into.step = buffer.getLong(at + R_STEP);
+            into.tick = buffer.getInt(at + R_TICK);
+            into.kind = KINDS[buffer.get(at + R_KIND)];
+            byte type = buffer.get(at + R_ENEMY_TYPE);
+            into.enemyType = type >= 0 ? ENEMY_TYPES[type] : null;
+            into.enemyId = buffer.getInt(at + R_ID);
+            into.x = buffer.getShort(at + R_X);
+            into.y = buffer.getShort(at + R_Y);
+            into.value = buffer.getInt(at + R_VALUE);
+            into.extra = buffer.getInt(at + R_EXTRA);
+            recordIndex++;
+            return true;
+        }
+        
+        private long stepAt(int segment, long record) {
+            return segments.get(segment).getLong((int) (HEADER_SIZE + record * RECORD_SIZE) + R_STEP);
+        }
+        
+        @Override
+        public void close() {
+            segments.clear(); // Mappings are released with the buffers
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package application;
+
+/**
+ * Measures each simulation tick against a time budget and steps the game
+ * through degradation levels when ticks run long. Repeated overruns step
+ * down one level at a time; a sustained run of ticks with headroom steps
+ * back up.
+ */
+public class TickWatchdog {
+    private static final int OVERRUNS_TO_DEGRADE = 3;       // consecutive ticks over budget
+    private static final int HEADROOM_TICKS_TO_RECOVER = 120; // consecutive ticks under half budget
+    
+    /**
+     * Degradation levels, mildest first. Each level includes the ones before it.
+     */
+    public enum Level {
+        FULL,                // Everything enabled
+        DEFER_FAR_REPLANS,   // Far enemies reuse their last direction instead of re-pathing
+        COALESCE_EVENTS,     // Visual events on the same cell collapse into one
+        SKIP_COSMETICS       // Purely cosmetic effects (impact flashes) are dropped
+    }
+    
+    // Process-wide metrics (the on-screen level is exported by GamePanel)
+    private static final Metrics.Counter OVERRUNS = Metrics.counter(
+        "pkp_tick_overruns_total", "Ticks that ran over the watchdog budget");
+    private static final Metrics.Counter[] TICKS_AT_LEVEL = Metrics.counters(
+        "pkp_watchdog_ticks_total", "Ticks run at each degradation level", "level", Level.class);
+    
+    private long budgetNanos;
+    private Level level;
+    private boolean adaptive;            // False pins the level at FULL (deterministic runs)
+    
+    // Hysteresis counters
+    private int consecutiveOverruns;
+    private int consecutiveHeadroom;
+    
+    // Metrics
+    private long tickCount;
+    private long overrunCount;
+    private long lastTickNanos;
+    private long worstTickNanos;
+    private final long[] ticksAtLevel;
+    
+    /**
+     * Creates a watchdog with the given per-tick budget.
+     */
+    public TickWatchdog(double budgetMillis) {
+        setBudgetMillis(budgetMillis);
+        this.level = Level.FULL;
+        this.adaptive = true;
+        this.ticksAtLevel = new long[Level.values().length];
+    }
+    
+    /**
+     * Records one tick's duration and adjusts the degradation level.
+     */
+    public void recordTick(long elapsedNanos) {
+        tickCount++;
+        lastTickNanos = elapsedNanos;
+        worstTickNanos = Math.max(worstTickNanos, elapsedNanos);
+        ticksAtLevel[level.ordinal()]++;
+        TICKS_AT_LEVEL[level.ordinal()].increment();
+        
+        if (elapsedNanos > budgetNanos) {
+            overrunCount++;
+            OVERRUNS.increment();
+            if (!adaptive) return;
+            consecutiveHeadroom = 0;
+            if (++consecutiveOverruns >= OVERRUNS_TO_DEGRADE) {
+                consecutiveOverruns = 0;
+                degrade();
+            }
+        } else {
+            consecutiveOverruns = 0;
+            if (!adaptive) return;
+            if (elapsedNanos < budgetNanos / 2) {
+                if (++consecutiveHeadroom >= HEADROOM_TICKS_TO_RECOVER) {
+                    consecutiveHeadroom = 0;
+                    recover();
+                }
+            } else {
+                consecutiveHeadroom = 0;
+            }
+        }
+    }
+    
+    private void degrade() {
+        if (level.ordinal() < Level.values().length - 1) {
+            level = Level.values()[level.ordinal() + 1];
+            GameLog.log(GameLog.Level.WARN, GameLog.Category.WATCHDOG, "Tick budget exceeded, degrading to {}", level);
+        }
+    }
+    
+    private void recover() {
+        if (level.ordinal() > 0) {
+            level = Level.values()[level.ordinal() - 1];
+            GameLog.log(GameLog.Level.INFO, GameLog.Category.WATCHDOG, "Headroom restored, recovering to {}", level);
+        }
+    }
+    
+    /**
+     * Checks if the current level includes the given degradation.
+     */
+    public boolean isAtLeast(Level other) {
+        return level.ordinal() >= other.ordinal();
+    }
+    
+    /**
+     * Enables or disables level changes. Degradation depends on wall-clock
+     * timing, so runs that must reproduce bit-exactly turn it off.
+     */
+    public void setAdaptive(boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive) {
+            level = Level.FULL;
+        }
+    }
+    
+    public void setBudgetMillis(double budgetMillis) {
+        this.budgetNanos = Math.round(budgetMillis * 1_000_000);
+    }
+    
+    // Getters
+    public Level getLevel() { return level; }
+    public double getBudgetMillis() { return budgetNanos / 1_000_000.0; }
+    public long getTickCount() { return tickCount; }
+    public long getOverrunCount() { return overrunCount; }
+    public long getLastTickNanos() { return lastTickNanos; }
+    public long getWorstTickNanos() { return worstTickNanos; }
+    public long getTicksAtLevel(Level l) { return ticksAtLevel[l.ordinal()]; }
+}
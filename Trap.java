@@ -1,61 +1,78 @@
-package application;
-
-/**
- * Trap entity - placed by player, damages enemies.
- * Can be single-use or persistent.
- */
-public class Trap {
-    private int x, y;                    // Grid position
-    private int damage;                  // Damage dealt
-    private boolean active;              // Is trap active
-    private boolean persistent;          // Does trap stay after triggering
-    private double cooldown;             // Cooldown before re-arming
-    private double cooldownMax;          // Max cooldown time
-    
-    /**
-     * Creates a trap at specified position.
-     */
-    public Trap(int x, int y, int damage, boolean persistent) {
-        this.x = x;
-        this.y = y;
-        this.damage = damage;
-        this.persistent = persistent;
-        this.active = true;
-        this.cooldownMax = 1.0;
-        this.cooldown = 0;
-    }
-    
-    /**
-     * Updates trap state.
-     */
-    public void update(double deltaTime) {
-        if (!active && persistent) {
-            cooldown -= deltaTime;
-            if (cooldown <= 0) {
-                active = true; // Re-arm persistent trap
-            }
-        }
-    }
-    
-    /**
-     * Triggers the trap.
-     */
-    public void trigger() {
-        if (!active) return;
-        
-        active = false;
-        
-        if (persistent) {
-            cooldown = cooldownMax; // Start cooldown for re-arming
-        }
-        
-        System.out.println("[TRAP] Trap triggered at (" + x + "," + y + ")");
-    }
-    
-    // Getters
-    public int getX() { return x; }
-    public int getY() { return y; }
-    public int getDamage() { return damage; }
-    public boolean isActive() { return active; }
-    public boolean isPersistent() { return persistent; }
+package application;
+
+/**
+ * Trap entity - placed by player, damages enemies.
+ * Can be single-use or persistent.
+ */
+public class Trap implements Cloneable {
+    private int x, y;                    // Grid position
+    private int damage;                  // Damage dealt
+    private boolean active;              // Is trap active
+    private boolean persistent;          // Does trap stay after triggering
+    private int rearmTicks;              // Ticks before re-arming
+    private long rearmTick;              // Tick at which a triggered trap may re-arm
+    
+    /**
+     * Creates a trap at specified position.
+     */
+    public Trap(int x, int y, int damage, boolean persistent) {
+        this.x = x;
+        this.y = y;
+        this.damage = damage;
+        this.persistent = persistent;
+        this.active = true;
+        this.rearmTicks = Constants.secondsToTicks(1.0);
+    }
+    
+    /**
+     * Re-arms a persistent trap. Called by the scheduler once the
+     * re-arm delay has elapsed; wake-ups left over from a rolled-back
+     * trigger are ignored.
+     */
+    public void rearm(long currentTick) {
+        if (persistent && !active && currentTick >= rearmTick) {
+            active = true;
+        }
+    }
+    
+    /**
+     * Triggers the trap.
+     */
+    public void trigger(long currentTick) {
+        if (!active) return;
+        
+        active = false;
+        rearmTick = currentTick + rearmTicks;
+        
+        GameLog.log(GameLog.Level.DEBUG, GameLog.Category.TRAP, "Trap triggered at ({},{})", x, y);
+    }
+    
+    // Getters
+    public int getX() { return x; }
+    public int getY() { return y; }
+    public int getDamage() { return damage; }
+    public boolean isActive() { return active; }
+    public boolean isPersistent() { return persistent; }
+    
+    public int getRearmTicks() { return rearmTicks; }
+    public long getRearmTick() { return rearmTick; }
+    
+    /**
+     * Restores state recorded before a rolled-back lookahead.
+     */
+    public void restoreState(boolean active, long rearmTick) {
+        this.active = active;
+        this.rearmTick = rearmTick;
+    }
+    
+    /**
+     * Creates an independent copy for a cloned game state.
+     */
+    public Trap copy() {
+        try {
+            return (Trap) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package application;
+
+import java.util.Arrays;
+
+/**
+ * Compact log of state mutations, used to roll lookahead moves back.
+ * Each record holds the previous value of one piece of state in primitive
+ * columns, so undoing costs time proportional to the changes made rather
+ * than a deep copy of the game.
+ */
+public class UndoLog {
+    // Record kinds
+    public static final int CELL = 0;           // a=x, b=y, c=old entity type
+    public static final int ENEMY_POSITION = 1; // ref=enemy, a=old x, b=old y
+    public static final int ENEMY_HEALTH = 2;   // ref=enemy, a=old hp, b=old dead (0/1)
+    public static final int PLAYER_POSITION = 3; // a=old x, b=old y
+    public static final int PLAYER_HEALTH = 4;  // a=old health, b=old alive (0/1), c=old damage taken
+    public static final int PENDING_DEATH = 5;  // ref=enemy appended to the pending deaths
+    public static final int TRAP_STATE = 6;     // ref=trap, a=old active (0/1), d=old rearm tick
+    public static final int ENEMY_ADDED = 7;    // ref=enemy, a=index in the enemy list
+    public static final int ENEMY_REMOVED = 8;  // ref=enemy, a=index it was removed from
+    public static final int ENEMY_SCHEDULE = 9; // ref=enemy, d=old next action tick
+    public static final int PENDING_CLEARED = 10; // ref=enemy taken off the pending deaths
+    public static final int OBSTACLE = 11;      // ref=old obstacle (or null), a=x, b=y
+    
+    private static final int INITIAL_CAPACITY = 256;
+    
+    private int[] kinds;
+    private int[] a, b, c;
+    private long[] d;
+    private Object[] refs;
+    private int size;
+    
+    public UndoLog() {
+        kinds = new int[INITIAL_CAPACITY];
+        a = new int[INITIAL_CAPACITY];
+        b = new int[INITIAL_CAPACITY];
+        c = new int[INITIAL_CAPACITY];
+        d = new long[INITIAL_CAPACITY];
+        refs = new Object[INITIAL_CAPACITY];
+        size = 0;
+    }
+    
+    /**
+     * Appends a record.
+     */
+    public void record(int kind, Object ref, int a, int b, int c, long d) {
+        if (size == kinds.length) {
+            grow();
+        }
+        kinds[size] = kind;
+        refs[size] = ref;
+        this.a[size] = a;
+        this.b[size] = b;
+        this.c[size] = c;
+        this.d[size] = d;
+        size++;
+    }
+    
+    /**
+     * Drops every record at or after the given mark.
+     */
+    public void truncate(int mark) {
+        for (int i = mark; i < size; i++) {
+            refs[i] = null;
+        }
+        size = mark;
+    }
+    
+    private void grow() {
+        int capacity = kinds.length * 2;
+        kinds = Arrays.copyOf(kinds, capacity);
+        a = Arrays.copyOf(a, capacity);
+        b = Arrays.copyOf(b, capacity);
+        c = Arrays.copyOf(c, capacity);
+        d = Arrays.copyOf(d, capacity);
+        refs = Arrays.copyOf(refs, capacity);
+    }
+    
+    // Record accessors
+    public int size() { return size; }
+    public int kind(int i) { return kinds[i]; }
+    public Object ref(int i) { return refs[i]; }
+    public int a(int i) { return a[i]; }
+    public int b(int i) { return b[i]; }
+    public int c(int i) { return c[i]; }
+    public long d(int i) { return d[i]; }
+}